@@ -0,0 +1,165 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.benchmarks;
+
+import com.mcmoddev.mmdbot.utilities.matching.AhoCorasickMatcher;
+import com.mcmoddev.mmdbot.utilities.matching.DomainSet;
+import com.mcmoddev.mmdbot.utilities.matching.HostScanner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the ways of detecting scam links in messages: the old loop calling {@link String#contains(CharSequence)}
+ * for every link, the {@link AhoCorasickMatcher} and the {@link HostScanner} with a {@link DomainSet}. <br>
+ * The corpus is generated from a fixed seed, and resembles the messages of a modding server: mostly plain
+ * chat, some messages with links to common sites, code snippets, and a few scam links.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScamDetectionBenchmark {
+
+    private static final String[] WORDS = {
+        "the", "mod", "crashes", "when", "I", "load", "my", "world", "forge", "fabric", "version", "mixin", "gradle",
+        "does", "anyone", "know", "how", "to", "register", "a", "block", "item", "entity", "capability", "event",
+        "thanks", "lol", "yeah", "it", "works", "now", "try", "updating", "mappings", "please", "send", "the", "log"
+    };
+    private static final String[] COMMON_HOSTS = {
+        "github.com", "gist.github.com", "www.youtube.com", "docs.minecraftforge.net", "fabricmc.net",
+        "paste.ee", "i.imgur.com", "cdn.discordapp.com", "www.curseforge.com", "modrinth.com"
+    };
+    private static final String[] SCAM_BASES = {"discord", "steamcommunity", "nitro", "gift", "free", "airdrop"};
+    private static final String[] TLDS = {"com", "ru", "gift", "xyz", "click", "info", "net", "org"};
+
+    @Param({"20000"})
+    public int domainCount;
+
+    private List<String> messages;
+    private Set<String> legacyLinks;
+    private AhoCorasickMatcher matcher;
+    private DomainSet domains;
+
+    @Setup
+    public void setup() {
+        final var random = new Random(42);
+        final var scamDomains = new ArrayList<String>(domainCount);
+        while (scamDomains.size() < domainCount) {
+            scamDomains.add(typosquat(random) + "." + TLDS[random.nextInt(TLDS.length)]);
+        }
+        legacyLinks = Collections.synchronizedSet(new HashSet<>(scamDomains));
+        matcher = AhoCorasickMatcher.compile(scamDomains);
+        domains = DomainSet.of(scamDomains);
+
+        messages = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            final var message = new StringBuilder(sentence(random));
+            final int kind = random.nextInt(100);
+            if (kind < 7) {
+                message.append(" https://").append(COMMON_HOSTS[random.nextInt(COMMON_HOSTS.length)])
+                    .append("/some/path?id=").append(random.nextInt(100000));
+            } else if (kind < 10) {
+                message.append("\n```java\npublic static final Block BLOCK = new Block(Properties.of(Material.STONE));\n```");
+            } else if (kind < 12) {
+                message.append(" https://").append(scamDomains.get(random.nextInt(scamDomains.size()))).append("/nitro");
+            }
+            messages.add(message.toString());
+        }
+    }
+
+    @Benchmark
+    public void legacyContainsLoop(final Blackhole blackhole) {
+        for (final var message : messages) {
+            blackhole.consume(legacyContains(message.toLowerCase(Locale.ROOT)));
+        }
+    }
+
+    @Benchmark
+    public void ahoCorasick(final Blackhole blackhole) {
+        for (final var message : messages) {
+            blackhole.consume(matcher.matches(message));
+        }
+    }
+
+    @Benchmark
+    public void hostLookup(final Blackhole blackhole) {
+        for (final var message : messages) {
+            blackhole.consume(HostScanner.anyHostMatches(message, domains::containsHostOrParent));
+        }
+    }
+
+    /**
+     * The implementation of {@code ScamDetector#containsScam} before the scam links were compiled.
+     */
+    private boolean legacyContains(final String text) {
+        synchronized (legacyLinks) {
+            for (final var link : legacyLinks) {
+                if (text.contains(link)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String typosquat(final Random random) {
+        final var base = new StringBuilder(SCAM_BASES[random.nextInt(SCAM_BASES.length)]);
+        final int position = random.nextInt(base.length());
+        base.setCharAt(position, (char) ('a' + random.nextInt(26)));
+        if (random.nextBoolean()) {
+            base.append('-').append(SCAM_BASES[random.nextInt(SCAM_BASES.length)]);
+        }
+        return base.append(random.nextInt(1000)).toString();
+    }
+
+    private static String sentence(final Random random) {
+        final var sentence = new StringBuilder();
+        final int words = 3 + random.nextInt(20);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sentence.append(' ');
+            }
+            sentence.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sentence.append(random.nextBoolean() ? "." : "?").toString();
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ *
+ */
+package com.mcmoddev.mmdbot.benchmarks;
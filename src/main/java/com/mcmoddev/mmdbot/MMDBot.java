@@ -26,10 +26,9 @@ import com.mcmoddev.mmdbot.modules.commands.CommandModule;
 import com.mcmoddev.mmdbot.modules.logging.LoggingModule;
 import com.mcmoddev.mmdbot.modules.logging.misc.MiscEvents;
 import com.mcmoddev.mmdbot.modules.logging.misc.ReferencingListener;
-import com.mcmoddev.mmdbot.utilities.ThreadedEventListener;
-import com.mcmoddev.mmdbot.utilities.Utils;
 import com.mcmoddev.mmdbot.utilities.database.DatabaseManager;
 import com.mcmoddev.mmdbot.utilities.database.JSONDataMigrator;
+import com.mcmoddev.mmdbot.utilities.threading.ListenerGroup;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.JDABuilder;
 import net.dv8tion.jda.api.entities.Activity;
@@ -43,8 +42,6 @@ import org.slf4j.LoggerFactory;
 import javax.security.auth.login.LoginException;
 import java.nio.file.Paths;
 import java.util.Set;
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 
 /**
  * Our Main class.
@@ -62,7 +59,7 @@ public final class MMDBot {
      */
     public static final Logger LOGGER = LoggerFactory.getLogger(References.NAME);
 
-    public static final Executor GENERAL_EVENT_THREAD_POOL = Executors.newFixedThreadPool(2, r -> Utils.setThreadDaemon(new Thread(r, "GeneralEventListener"), true));
+    public static final ListenerGroup GENERAL_EVENT_LISTENERS = ListenerGroup.create("GeneralEventListener", 2);
 
     /**
      * The Constant INTENTS.
@@ -153,7 +150,8 @@ public final class MMDBot {
         }
 
         try {
-            MMDBot.database = DatabaseManager.connectSQLite("jdbc:sqlite:./data.db");
+            MMDBot.database = DatabaseManager.connectSQLite("jdbc:sqlite:./data.db", MMDBot.config.getDatabasePoolSize(),
+                MMDBot.config.getDatabaseCacheSize());
             JSONDataMigrator.checkAndMigrate(MMDBot.database);
             MMDBot.instance = JDABuilder
                 .create(MMDBot.config.getToken(), MMDBot.INTENTS)
@@ -161,8 +159,8 @@ public final class MMDBot {
                 .disableCache(CacheFlag.ACTIVITY)
                 .disableCache(CacheFlag.CLIENT_STATUS)
                 .disableCache(CacheFlag.ONLINE_STATUS)
-                .addEventListeners(new ThreadedEventListener(new MiscEvents(), GENERAL_EVENT_THREAD_POOL),
-                    new ThreadedEventListener(new ReferencingListener(), GENERAL_EVENT_THREAD_POOL))
+                .addEventListeners(GENERAL_EVENT_LISTENERS.wrap(new MiscEvents()),
+                    GENERAL_EVENT_LISTENERS.wrap(new ReferencingListener()))
                 .build().awaitReady();
             CommandModule.setupCommandModule();
             LoggingModule.setupLoggingModule();
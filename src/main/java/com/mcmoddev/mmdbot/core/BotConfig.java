@@ -29,12 +29,16 @@ import com.electronwill.nightconfig.toml.TomlFormat;
 import com.google.common.io.Resources;
 import com.jagrosh.jdautilities.commons.utils.SafeIdUtil;
 import com.mcmoddev.mmdbot.MMDBot;
+import com.mcmoddev.mmdbot.modules.logging.misc.ScamDetector;
+import com.mcmoddev.mmdbot.utilities.persistence.DebouncedFileWriter;
+import com.mcmoddev.mmdbot.utilities.threading.EventDispatchMode;
 import net.dv8tion.jda.api.Permission;
 import net.dv8tion.jda.api.entities.Activity;
 import net.dv8tion.jda.api.entities.Message;
 import org.jetbrains.annotations.NotNull;
 
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
@@ -54,6 +58,12 @@ public final class BotConfig {
      */
     private final CommentedFileConfig config;
 
+    /**
+     * The writer saving the config when it is changed by the bot, such as when a role panel is added. <br>
+     * Changes are flushed right away, so the delay only merges concurrent changes.
+     */
+    private final DebouncedFileWriter writer;
+
     /**
      * The Newly generated.
      */
@@ -87,6 +97,11 @@ public final class BotConfig {
             .preserveInsertionOrder()
             .build();
         config.load();
+        this.writer = new DebouncedFileWriter("config", configFile, Duration.ofMillis(100), out -> {
+            synchronized (config) {
+                config.configFormat().createWriter().write(config, out);
+            }
+        });
     }
 
     /**
@@ -222,6 +237,15 @@ public final class BotConfig {
         return config.getOrElse("commands.prefix_tricks_enabled", false);
     }
 
+    /**
+     * Returns the interval at which the usage statistics of the tricks are saved to the database.
+     *
+     * @return The interval in minutes
+     */
+    public long getTrickStatsFlushInterval() {
+        return config.<Number>getOrElse("commands.trick_stats_flush_interval", 5).longValue();
+    }
+
     /**
      * Returns whether the given command is enabled for the given guild.
      * <p>
@@ -513,6 +537,181 @@ public final class BotConfig {
         return config.<Boolean>getOrElse("modules.event_logging_module_enabled", true);
     }
 
+    /**
+     * Returns the way events are dispatched to the bot's listeners.
+     * <p>
+     * This is only read when the listeners are registered, so changing it requires a restart.
+     *
+     * @return The event dispatch mode
+     */
+    public EventDispatchMode getEventDispatchMode() {
+        return EventDispatchMode.byName(config.getOrElse("event_dispatch.mode", EventDispatchMode.FIXED.toString()));
+    }
+
+    /**
+     * Returns the maximum amount of events a single listener may process concurrently, when using the
+     * {@link EventDispatchMode#VIRTUAL virtual} dispatch mode.
+     * <p>
+     * A value of {@code 0} means that there is no limit.
+     *
+     * @return The per-listener concurrency cap
+     */
+    public int getEventDispatchConcurrencyCap() {
+        return config.getIntOrElse("event_dispatch.concurrency_cap", 16);
+    }
+
+    /**
+     * Returns the amount of lanes each listener group has, when using the {@link EventDispatchMode#KEYED keyed}
+     * dispatch mode.
+     * <p>
+     * A value of {@code 0} means that the amount of available processors will be used.
+     *
+     * @return The amount of lanes per listener group
+     */
+    public int getEventDispatchLanes() {
+        final int lanes = config.getIntOrElse("event_dispatch.lanes", 0);
+        return lanes <= 0 ? Runtime.getRuntime().availableProcessors() : lanes;
+    }
+
+    /**
+     * Returns the maximum amount of pending events of the listener group with the specified name.
+     *
+     * @param group the name of the listener group
+     * @return The capacity of the group's queue, or {@code 0} for no limit
+     */
+    public int getEventQueueCapacity(final String group) {
+        return config.getIntOrElse(List.of("event_dispatch", "queue_capacity", group),
+            config.getIntOrElse("event_dispatch.queue_capacity.default", 1000));
+    }
+
+    /**
+     * Returns the interval at which the event pipeline metrics are logged.
+     *
+     * @return The interval in minutes, or {@code 0} if the metrics should not be logged
+     */
+    public long getMetricsLogInterval() {
+        return config.<Number>getOrElse("event_dispatch.metrics_log_interval", 30).longValue();
+    }
+
+    /**
+     * Returns the way scam links are detected in messages.
+     *
+     * @return The scam detection mode
+     */
+    public ScamDetector.DetectionMode getScamDetectionMode() {
+        return ScamDetector.DetectionMode.byName(config.getOrElse("scam_detection.mode",
+            ScamDetector.DetectionMode.AUTOMATON.toString()));
+    }
+
+    /**
+     * Returns the maximum amount of open connections to the database.
+     *
+     * @return The size of the connection pool
+     */
+    public int getDatabasePoolSize() {
+        return Math.max(1, config.getIntOrElse("database.pool_size", 4));
+    }
+
+    /**
+     * Returns the size of the page cache of each connection to the database.
+     *
+     * @return The size of the cache in KiB
+     */
+    public int getDatabaseCacheSize() {
+        return Math.max(0, config.getIntOrElse("database.cache_size", 8192));
+    }
+
+    /**
+     * Returns the interval at which the scam links are updated with the recently added and removed links.
+     *
+     * @return The interval in minutes
+     */
+    public long getScamLinksUpdateInterval() {
+        return Math.max(1, config.<Number>getOrElse("scam_detection.update_interval", 60).longValue());
+    }
+
+    /**
+     * Returns the amount of idle script contexts kept warm, ready to evaluate scripts.
+     *
+     * @return The size of the script context pool
+     */
+    public int getScriptContextPoolSize() {
+        return config.getIntOrElse("scripting.context_pool_size", 4);
+    }
+
+    /**
+     * Returns the amount of scripts which may be evaluated at the same time.
+     *
+     * @return The amount of script workers
+     */
+    public int getScriptWorkers() {
+        return config.getIntOrElse("scripting.workers", 2);
+    }
+
+    /**
+     * Returns the maximum amount of scripts waiting to be evaluated.
+     *
+     * @return The capacity of the script queue
+     */
+    public int getScriptQueueCapacity() {
+        return config.getIntOrElse("scripting.queue_capacity", 32);
+    }
+
+    /**
+     * Returns the maximum amount of scripts of a single user waiting to be evaluated.
+     *
+     * @return The capacity of the script queue of a user
+     */
+    public int getScriptQueueCapacityPerUser() {
+        return config.getIntOrElse("scripting.queue_capacity_per_user", 3);
+    }
+
+    /**
+     * Returns the CPU time an evaluation may use before being cancelled.
+     *
+     * @return The CPU time limit in milliseconds, or {@code 0} for no limit
+     */
+    public long getScriptCpuTimeLimit() {
+        return config.<Number>getOrElse("scripting.cpu_time_limit", 2000).longValue();
+    }
+
+    /**
+     * Returns the time an evaluation may run for before being cancelled.
+     *
+     * @return The time limit in milliseconds, or {@code 0} for no limit
+     */
+    public long getScriptTimeLimit() {
+        return config.<Number>getOrElse("scripting.time_limit", 4000).longValue();
+    }
+
+    /**
+     * Returns the maximum amount of statements an evaluation may execute.
+     *
+     * @return The statement limit, or {@code 0} for no limit
+     */
+    public long getScriptStatementLimit() {
+        return config.<Number>getOrElse("scripting.statement_limit", 5_000_000).longValue();
+    }
+
+    /**
+     * Returns the maximum amount of host calls an evaluation may make.
+     *
+     * @return The host call limit, or {@code 0} for no limit
+     */
+    public long getScriptMaxHostCalls() {
+        return config.<Number>getOrElse("scripting.max_host_calls", 10_000).longValue();
+    }
+
+    /**
+     * Returns the maximum amount of host objects (such as the objects representing members) which may be
+     * created for an evaluation.
+     *
+     * @return The host object limit, or {@code 0} for no limit
+     */
+    public long getScriptMaxHostObjects() {
+        return config.<Number>getOrElse("scripting.max_host_objects", 20_000).longValue();
+    }
+
     /**
      * Gets the role associated with the {@code emote} from the specified role panel
      *
@@ -530,8 +729,13 @@ public final class BotConfig {
     }
 
     public void addRolePanel(final long channelId, final long messageId, final String emote, final long roleId) {
-        config.set("role_panels.%s-%s.%s".formatted(channelId, messageId, emote), roleId);
-        config.save();
+        synchronized (config) {
+            config.set("role_panels.%s-%s.%s".formatted(channelId, messageId, emote), roleId);
+        }
+        // Written immediately rather than debounced: the config is auto reloaded, so an edit of the file made while
+        // the write is pending would either be overwritten by it, or discard the new panel when reloaded
+        writer.schedule();
+        writer.flush();
     }
 
     public boolean isRolePanelPermanent(final long channelId, final long messageId) {
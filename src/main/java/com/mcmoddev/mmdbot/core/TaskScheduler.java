@@ -23,7 +23,9 @@ package com.mcmoddev.mmdbot.core;
 import com.mcmoddev.mmdbot.MMDBot;
 import com.mcmoddev.mmdbot.modules.logging.misc.ScamDetector;
 import com.mcmoddev.mmdbot.utilities.Utils;
+import com.mcmoddev.mmdbot.utilities.metrics.EventPipelineReport;
 import com.mcmoddev.mmdbot.utilities.oldchannels.ChannelMessageChecker;
+import com.mcmoddev.mmdbot.utilities.tricks.TrickUsage;
 import com.mcmoddev.mmdbot.utilities.updatenotifiers.fabric.FabricApiUpdateNotifier;
 import com.mcmoddev.mmdbot.utilities.updatenotifiers.forge.ForgeUpdateNotifier;
 import com.mcmoddev.mmdbot.utilities.updatenotifiers.minecraft.MinecraftUpdateNotifier;
@@ -65,13 +67,26 @@ public final class TaskScheduler {
         TIMER.scheduleAtFixedRate(new MinecraftUpdateNotifier(), 0, 15, TimeUnit.MINUTES);
         TIMER.scheduleAtFixedRate(new FabricApiUpdateNotifier(), 0, 15, TimeUnit.MINUTES);
         TIMER.scheduleAtFixedRate(new ChannelMessageChecker(), 0, 1, TimeUnit.DAYS);
+        // The scam links are refreshed when the ScamDetector is loaded, so only schedule the next refreshes.
+        // Updates download all the links again once in a while, based on when they last did so, which survives restarts
+        final long scamLinksInterval = MMDBot.getConfig().getScamLinksUpdateInterval();
         TIMER.scheduleAtFixedRate(() -> {
-            if (ScamDetector.setupScamLinks()) {
-                MMDBot.LOGGER.info("Successfully refreshed scam links");
-            } else {
-                MMDBot.LOGGER.warn("Scam links could not be automatically refreshed");
+            if (!ScamDetector.updateScamLinks()) {
+                MMDBot.LOGGER.warn("Scam links could not be automatically updated");
             }
-        }, 0, 14, TimeUnit.DAYS);
+        }, scamLinksInterval, scamLinksInterval, TimeUnit.MINUTES);
+        final long metricsInterval = MMDBot.getConfig().getMetricsLogInterval();
+        if (metricsInterval > 0) {
+            TIMER.scheduleAtFixedRate(EventPipelineReport::log, metricsInterval, metricsInterval, TimeUnit.MINUTES);
+        }
+        final long trickStatsInterval = Math.max(1, MMDBot.getConfig().getTrickStatsFlushInterval());
+        TIMER.scheduleAtFixedRate(() -> {
+            try {
+                TrickUsage.flush();
+            } catch (Exception e) {
+                MMDBot.LOGGER.error("Could not save the trick usage statistics", e);
+            }
+        }, trickStatsInterval, trickStatsInterval, TimeUnit.MINUTES);
     }
 
     public static void scheduleTask(Runnable toRun, long delay, TimeUnit unit) {
@@ -28,6 +28,8 @@ import com.mcmoddev.mmdbot.MMDBot;
 import com.mcmoddev.mmdbot.modules.commands.bot.info.CmdAbout;
 import com.mcmoddev.mmdbot.modules.commands.bot.info.CmdHelp;
 import com.mcmoddev.mmdbot.modules.commands.bot.management.CmdAvatar;
+import com.mcmoddev.mmdbot.modules.commands.bot.management.CmdEventQueues;
+import com.mcmoddev.mmdbot.modules.commands.bot.management.CmdMetrics;
 import com.mcmoddev.mmdbot.modules.commands.bot.management.CmdRefreshScamLinks;
 import com.mcmoddev.mmdbot.modules.commands.bot.management.CmdRename;
 import com.mcmoddev.mmdbot.modules.commands.bot.management.CmdRestart;
@@ -65,17 +67,18 @@ import com.mcmoddev.mmdbot.modules.commands.moderation.CmdReact;
 import com.mcmoddev.mmdbot.modules.commands.moderation.CmdRolePanel;
 import com.mcmoddev.mmdbot.modules.commands.moderation.CmdUnmute;
 import com.mcmoddev.mmdbot.modules.commands.moderation.CmdWarning;
-import com.mcmoddev.mmdbot.utilities.ThreadedEventListener;
-import com.mcmoddev.mmdbot.utilities.Utils;
+import com.mcmoddev.mmdbot.utilities.scripting.ScriptingUtils;
+import com.mcmoddev.mmdbot.utilities.threading.EventPriority;
+import com.mcmoddev.mmdbot.utilities.threading.ListenerGroup;
 import com.mcmoddev.mmdbot.utilities.tricks.Tricks;
+import net.dv8tion.jda.api.events.interaction.GenericInteractionCreateEvent;
+import net.dv8tion.jda.api.events.interaction.component.ButtonInteractionEvent;
 import net.dv8tion.jda.api.hooks.EventListener;
 import net.dv8tion.jda.api.interactions.commands.build.CommandData;
 
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 
 /**
  * This is the main class for setting up commands before they are loaded in by the bot,
@@ -99,8 +102,8 @@ public class CommandModule {
         return commandClient;
     }
 
-    public static final Executor COMMAND_LISTENER_THREAD_POOL = Executors.newFixedThreadPool(2, r -> Utils.setThreadDaemon(new Thread(r, "CommandListener"), true));
-    public static final Executor BUTTON_LISTENER_THREAD_POOL = Executors.newSingleThreadExecutor(r -> Utils.setThreadDaemon(new Thread(r, "ButtonListener"), true));
+    public static final ListenerGroup COMMAND_LISTENERS = ListenerGroup.create("CommandListener", 2);
+    public static final ListenerGroup BUTTON_LISTENERS = ListenerGroup.create("ButtonListener", 1);
 
     /**
      * Setup and load the bots command module.
@@ -136,6 +139,7 @@ public class CommandModule {
             new CmdRename(),
             //TODO Setup DB storage for tricks and polish them off/add permission restrictions for when needed.
             new CmdShutdown(),
+            new CmdMetrics(),
             new CmdRestart(),
             new CmdQuote(),
             new CmdRolePanel(),
@@ -149,6 +153,7 @@ public class CommandModule {
         // addSlashCommand(Tricks.getTricks().stream().map(CmdRunTrickSeparated::new).toArray(SlashCommand[]::new));
 
         commandClient.addCommand(new CmdRefreshScamLinks());
+        commandClient.addCommand(new CmdEventQueues());
         commandClient.addCommand(new CmdReact());
         commandClient.addCommand(new CmdGist());
         commandClient.addCommand(new CmdEvaluate());
@@ -168,14 +173,19 @@ public class CommandModule {
             // Wrap the command and button listener in another thread, so that if a runtime exception
             // occurs while executing a command, the event thread will not be stopped
             // Commands and buttons are separated so that they do not interfere with each other
-            MMDBot.getInstance().addEventListener(new ThreadedEventListener((EventListener) commandClient, COMMAND_LISTENER_THREAD_POOL));
+            // Interactions are critical, as they fail if they are not acknowledged in time. The client also needs other
+            // events (such as messages for prefix commands and the ready event), which can be dropped under load
+            MMDBot.getInstance().addEventListener(COMMAND_LISTENERS.wrap((EventListener) commandClient,
+                event -> event instanceof GenericInteractionCreateEvent ? EventPriority.CRITICAL : EventPriority.LOW));
             MMDBot.getInstance().addEventListener(buttonListener(CmdRoles.getListener()));
             MMDBot.getInstance().addEventListener(buttonListener(CmdHelp.getListener()));
             MMDBot.getInstance().addEventListener(buttonListener(CmdListTricks.getListListener()));
             MMDBot.getInstance().addEventListener(buttonListener(CmdQuote.ListQuotes.getQuoteListener()));
+            MMDBot.getInstance().addEventListener(buttonListener(CmdQuote.SearchQuotes.getSearchListener()));
             MMDBot.getInstance().addEventListener(buttonListener(CmdInvite.ListCmd.getButtonListener()));
             MMDBot.getInstance().addEventListener(buttonListener(CmdDictionary.listener));
             MMDBot.getInstance().addEventListener(buttonListener(new DismissListener()));
+            ScriptingUtils.warmUp();
             MMDBot.LOGGER.warn("Command module enabled and loaded.");
         } else {
             MMDBot.LOGGER.warn("Command module disabled via config, commands will not work at this time!");
@@ -183,7 +193,7 @@ public class CommandModule {
     }
 
     private static EventListener buttonListener(final EventListener listener) {
-        return new ThreadedEventListener(listener, BUTTON_LISTENER_THREAD_POOL);
+        return BUTTON_LISTENERS.wrap(listener, EventPriority.CRITICAL.forEvents(ButtonInteractionEvent.class));
     }
 
     /**
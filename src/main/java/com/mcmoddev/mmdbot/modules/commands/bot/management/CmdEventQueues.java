@@ -0,0 +1,55 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.modules.commands.bot.management;
+
+import com.jagrosh.jdautilities.command.Command;
+import com.jagrosh.jdautilities.command.CommandEvent;
+import com.mcmoddev.mmdbot.utilities.threading.ListenerGroup;
+
+import java.util.stream.Collectors;
+
+/**
+ * Shows the state of the {@link com.mcmoddev.mmdbot.utilities.threading.BoundedEventQueue event queues}
+ * of all the listener groups.
+ */
+public class CmdEventQueues extends Command {
+
+    public CmdEventQueues() {
+        name = "event-queues";
+        aliases = new String[]{"eventqueues"};
+        help = "Shows the state of the event queues";
+        category = new Category("Management");
+        hidden = true;
+        guildOnly = false;
+        ownerCommand = true;
+    }
+
+    @Override
+    protected void execute(final CommandEvent event) {
+        final var text = ListenerGroup.getGroups().stream()
+            .map(ListenerGroup::getQueue)
+            .map(queue -> "%s: %s/%s pending (%s for critical events), %s queued, %s dropped, %s overflowed".formatted(
+                queue.getName(), queue.getPending(), queue.getCapacity(), queue.getCriticalCapacity(), queue.getQueued(), queue.getDropped(),
+                queue.getOverflowed()))
+            .collect(Collectors.joining("\n"));
+        event.getMessage().reply("```\n" + text + "\n```").mentionRepliedUser(false).queue();
+    }
+}
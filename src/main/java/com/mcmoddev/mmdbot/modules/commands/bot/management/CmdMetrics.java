@@ -0,0 +1,64 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.modules.commands.bot.management;
+
+import com.jagrosh.jdautilities.command.SlashCommand;
+import com.jagrosh.jdautilities.command.SlashCommandEvent;
+import com.mcmoddev.mmdbot.utilities.metrics.EventPipelineReport;
+
+/**
+ * Shows the metrics of the event pipeline, in order to find slow listeners.
+ *
+ * @see EventPipelineReport
+ */
+public class CmdMetrics extends SlashCommand {
+
+    /**
+     * The maximum length of the report, so that it fits in a message.
+     */
+    private static final int MAX_LENGTH = 1990;
+
+    /**
+     * Instantiates a new Cmd.
+     */
+    public CmdMetrics() {
+        super();
+        name = "metrics";
+        help = "Shows the queue depths and latencies of the event listeners.";
+        category = new Category("Management");
+        ownerCommand = true;
+        guildOnly = false;
+    }
+
+    /**
+     * Execute.
+     *
+     * @param event The event.
+     */
+    @Override
+    protected void execute(final SlashCommandEvent event) {
+        var report = EventPipelineReport.create();
+        if (report.length() > MAX_LENGTH) {
+            report = report.substring(0, MAX_LENGTH - 3) + "...";
+        }
+        event.reply("```\n" + report + "\n```").setEphemeral(true).queue();
+    }
+}
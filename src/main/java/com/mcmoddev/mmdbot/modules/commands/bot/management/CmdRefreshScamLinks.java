@@ -25,7 +25,7 @@ import com.jagrosh.jdautilities.command.CommandEvent;
 import com.mcmoddev.mmdbot.modules.logging.misc.ScamDetector;
 
 /**
- * Refreshes the {@link com.mcmoddev.mmdbot.modules.logging.misc.ScamDetector#SCAM_LINKS}
+ * Refreshes the {@link com.mcmoddev.mmdbot.modules.logging.misc.ScamDetector#getScamLinks() scam links}
  *
  * @author matyrobbrt
  */
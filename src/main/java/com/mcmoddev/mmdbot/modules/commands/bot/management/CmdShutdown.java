@@ -24,6 +24,7 @@ import com.jagrosh.jdautilities.command.SlashCommand;
 import com.jagrosh.jdautilities.command.SlashCommandEvent;
 import com.mcmoddev.mmdbot.MMDBot;
 import com.mcmoddev.mmdbot.utilities.Utils;
+import com.mcmoddev.mmdbot.utilities.tricks.TrickUsage;
 import net.dv8tion.jda.api.interactions.InteractionHook;
 import net.dv8tion.jda.api.interactions.commands.OptionMapping;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
@@ -114,6 +115,7 @@ public class CmdShutdown extends SlashCommand {
     private void executeShutdown(final SlashCommandEvent event) {
         //Shut down the JDA instance gracefully.
         MMDBot.getInstance().shutdown();
+        TrickUsage.flush();
         MMDBot.LOGGER.warn("Shutting down the bot by request of " + event.getUser().getName() + " via Discord!");
         new Timer().schedule(new TimerTask() {
             @Override
@@ -27,6 +27,7 @@ import com.mcmoddev.mmdbot.core.TaskScheduler;
 import com.mcmoddev.mmdbot.gist.GistUtils;
 import com.mcmoddev.mmdbot.modules.commands.DismissListener;
 import com.mcmoddev.mmdbot.utilities.Utils;
+import com.mcmoddev.mmdbot.utilities.scripting.ScriptExecution;
 import com.mcmoddev.mmdbot.utilities.scripting.ScriptingContext;
 import com.mcmoddev.mmdbot.utilities.scripting.ScriptingUtils;
 import net.dv8tion.jda.api.MessageBuilder;
@@ -35,6 +36,7 @@ import net.dv8tion.jda.api.entities.ChannelType;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.GuildChannel;
 import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.entities.MessageChannel;
 import net.dv8tion.jda.api.entities.MessageEmbed;
 import net.dv8tion.jda.api.entities.TextChannel;
@@ -51,8 +53,13 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
 import static com.mcmoddev.mmdbot.utilities.scripting.ScriptingUtils.ALLOWED_MENTIONS;
@@ -75,12 +82,12 @@ public class CmdEvaluate extends SlashCommand {
     }
 
     public static final Set<Long> USED_CHANNELS = Collections.synchronizedSet(new HashSet<>());
-    public static final String THREAD_INTERRUPTED_MESSAGE = "org.graalvm.polyglot.PolyglotException: Thread was interrupted.";
 
     @Override
     protected void execute(final SlashCommandEvent event) {
         event.deferReply().allowedMentions(ALLOWED_MENTIONS)
             .addActionRow(DismissListener.createDismissButton(event.getUser())).queue(hook -> {
+            final var replyContent = new AtomicReference<String>();
             final var context = createContext(new EvaluationContext() {
                 @Override
                 public Guild getGuild() {
@@ -109,36 +116,29 @@ public class CmdEvaluate extends SlashCommand {
 
                 @Override
                 public void reply(final String content) {
+                    replyContent.set(content);
                     hook.editOriginal(new MessageBuilder(content).setAllowedMentions(ALLOWED_MENTIONS).build())
                         .queue();
                 }
 
                 @Override
                 public void replyEmbeds(final MessageEmbed... embeds) {
+                    replyContent.set(null);
                     hook.editOriginal(new MessageBuilder().setEmbeds(embeds).setAllowedMentions(ALLOWED_MENTIONS).build())
                         .queue();
                 }
             });
 
-            final var evalThread = new Thread(() -> {
-                try {
-                    ScriptingUtils.evaluate(Utils.getOrEmpty(event, "script"), context);
-                } catch (ScriptingUtils.ScriptingException exception) {
-                    if (exception.getMessage().equalsIgnoreCase(THREAD_INTERRUPTED_MESSAGE)) {
-                        return;
+            final var script = Utils.getOrEmpty(event, "script");
+            ScriptingUtils.getScheduler().submit(event.getUser().getIdLong(), () -> ScriptingUtils.evaluate(script, context))
+                .whenComplete((execution, exception) -> {
+                    if (exception != null) {
+                        hook.editOriginal(describeFailure(exception)).queue();
+                    } else {
+                        // Only the content is edited, so that the embeds of the reply are kept
+                        hook.editOriginal(appendCost(replyContent.get(), execution)).queue();
                     }
-                    hook.editOriginal("There was an exception evaluating "
-                        + exception.getLocalizedMessage()).queue();
-                }
-            }, "ScriptEvaluation");
-            evalThread.setDaemon(true);
-            evalThread.start();
-            TaskScheduler.scheduleTask(() -> {
-                if (evalThread.isAlive()) {
-                    evalThread.interrupt();
-                    hook.editOriginal("Evaluation was timed out!").queue();
-                }
-            }, 4, TimeUnit.SECONDS);
+                });
         });
     }
 
@@ -161,6 +161,7 @@ public class CmdEvaluate extends SlashCommand {
                 }
             }
         }
+        final var lastReply = new AtomicReference<PendingReply>();
         final var context = createContext(new EvaluationContext() {
             @Override
             public Guild getGuild() {
@@ -189,14 +190,16 @@ public class CmdEvaluate extends SlashCommand {
 
             @Override
             public void reply(final String content) {
-                event.getMessage().reply(new MessageBuilder(content).setAllowedMentions(ALLOWED_MENTIONS).build())
-                    .setActionRow(DismissListener.createDismissButton(getUser())).mentionRepliedUser(false).queue();
+                lastReply.set(new PendingReply(content, event.getMessage()
+                    .reply(new MessageBuilder(content).setAllowedMentions(ALLOWED_MENTIONS).build())
+                    .setActionRow(DismissListener.createDismissButton(getUser())).mentionRepliedUser(false).submit()));
             }
 
             @Override
             public void replyEmbeds(final MessageEmbed... embeds) {
-                event.getMessage().reply(new MessageBuilder().setEmbeds(embeds).setAllowedMentions(ALLOWED_MENTIONS).build())
-                    .setActionRow(DismissListener.createDismissButton(getUser())).mentionRepliedUser(false).queue();
+                lastReply.set(new PendingReply(null, event.getMessage()
+                    .reply(new MessageBuilder().setEmbeds(embeds).setAllowedMentions(ALLOWED_MENTIONS).build())
+                    .setActionRow(DismissListener.createDismissButton(getUser())).mentionRepliedUser(false).submit()));
             }
         });
         final var canEditMessage = event.getGuild() != null && event.getMember().hasPermission(Permission.MESSAGE_MANAGE);
@@ -230,36 +233,57 @@ public class CmdEvaluate extends SlashCommand {
             });
         }
         final String finalScript = script;
-        final var evalThread = new Thread(() -> {
-            try {
-                ScriptingUtils.evaluate(finalScript, context);
-            } catch (ScriptingUtils.ScriptingException exception) {
-                if (exception.getMessage().equalsIgnoreCase(THREAD_INTERRUPTED_MESSAGE)) {
-                    return;
+        ScriptingUtils.getScheduler().submit(event.getAuthor().getIdLong(), () -> ScriptingUtils.evaluate(finalScript, context))
+            .whenComplete((execution, exception) -> {
+                if (exception != null) {
+                    event.getMessage().reply(describeFailure(exception)).allowedMentions(ALLOWED_MENTIONS)
+                        .setActionRow(DismissListener.createDismissButton(event.getAuthor())).queue();
+                } else if (lastReply.get() != null) {
+                    final var reply = lastReply.get();
+                    reply.message().thenAccept(message -> message.editMessage(appendCost(reply.content(), execution)).queue());
                 }
-                event.getMessage().reply("There was an exception evaluating: "
-                    + exception.getLocalizedMessage()).allowedMentions(ALLOWED_MENTIONS)
-                    .setActionRow(DismissListener.createDismissButton(event.getAuthor())).queue();
-            }
-        }, "ScriptEvaluation");
-        evalThread.setDaemon(true);
-        evalThread.start();
-        TaskScheduler.scheduleTask(() -> {
-            if (evalThread.isAlive()) {
-                evalThread.interrupt();
-                event.getMessage().reply("Evaluation was timed out!")
-                    .setActionRow(DismissListener.createDismissButton(event.getAuthor())).queue();
-            }
-        }, 4, TimeUnit.SECONDS);
+            });
+    }
+
+    /**
+     * Appends the cost of an execution to the content of its reply, as a footer.
+     *
+     * @param content   the content of the reply, or {@code null} if it has none
+     * @param execution the execution
+     * @return the content with the cost appended
+     */
+    public static String appendCost(@Nullable String content, ScriptExecution execution) {
+        final var footer = "*" + execution.formatCost() + "*";
+        if (content == null || content.isBlank()) {
+            return footer;
+        }
+        final var maxLength = Message.MAX_CONTENT_LENGTH - footer.length() - 1;
+        return (content.length() > maxLength ? content.substring(0, maxLength) : content) + "\n" + footer;
+    }
+
+    /**
+     * Describes why the evaluation of a script failed.
+     *
+     * @param exception the exception the evaluation failed with
+     * @return the message to reply with
+     */
+    public static String describeFailure(Throwable exception) {
+        if (exception instanceof CompletionException && exception.getCause() != null) {
+            exception = exception.getCause();
+        }
+        if (exception instanceof CancellationException || exception instanceof RejectedExecutionException) {
+            return exception.getMessage();
+        }
+        return "There was an exception evaluating: " + exception.getLocalizedMessage();
     }
 
     public static ScriptingContext createContext(EvaluationContext evalContext) {
         final var context = ScriptingContext.of("Evaluation");
-        context.set("guild", evalContext.getGuild() == null ? null : createGuild(evalContext.getGuild()));
-        context.set("member", evalContext.getMember() == null ? null : createMember(evalContext.getMember(), true));
-        context.set("user", createUser(evalContext.getUser(), true));
+        context.setLazy("guild", () -> evalContext.getGuild() == null ? null : createGuild(evalContext.getGuild()));
+        context.setLazy("member", () -> evalContext.getMember() == null ? null : createMember(evalContext.getMember(), true));
+        context.setLazy("user", () -> createUser(evalContext.getUser(), true));
         final var canSendEmbed = evalContext.getMessageChannel() instanceof GuildChannel guildChannel && evalContext.getMember().hasPermission(guildChannel, Permission.MESSAGE_EMBED_LINKS);
-        context.set("channel", createMessageChannel(evalContext.getMessageChannel(), true)
+        context.setLazy("channel", () -> createMessageChannel(evalContext.getMessageChannel(), true)
             .setFunctionVoid("sendMessage", args -> {
                 validateArgs(args, 1);
                 executeAndAddColldown(evalContext.getMessageChannel(), c -> c.sendMessage(args.get(0).asString()).allowedMentions(ALLOWED_MENTIONS).queue());
@@ -274,7 +298,7 @@ public class CmdEvaluate extends SlashCommand {
             })
             .setFunctionVoid("sendEmbeds", args -> executeAndAddColldown(evalContext.getMessageChannel(), c -> c.sendMessageEmbeds(args.stream().map(ScriptingUtils::getEmbedFromValue)
                 .filter(Objects::nonNull).limit(3).toList()).allowedMentions(ALLOWED_MENTIONS).queue())));
-        context.set("textChannel", evalContext.getTextChannel() == null ? null : createTextChannel(evalContext.getTextChannel(), true)
+        context.setLazy("textChannel", () -> evalContext.getTextChannel() == null ? null : createTextChannel(evalContext.getTextChannel(), true)
             .setFunctionVoid("sendMessage", args -> {
                 validateArgs(args, 1);
                 executeAndAddColldown(evalContext.getTextChannel(), c -> c.sendMessage(args.get(0).asString()).allowedMentions(ALLOWED_MENTIONS).queue());
@@ -318,6 +342,9 @@ public class CmdEvaluate extends SlashCommand {
         }
     }
 
+    private record PendingReply(@Nullable String content, CompletableFuture<Message> message) {
+    }
+
     interface EvaluationContext {
         @Nullable
         Guild getGuild();
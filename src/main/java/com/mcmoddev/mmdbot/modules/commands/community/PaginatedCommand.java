@@ -56,6 +56,8 @@ public abstract class PaginatedCommand extends SlashCommand {
     // The maximum number of items in the list. Update with #updateMaximum
     protected int maximum = 0;
     protected PaginatedCommand.ButtonListener listener = new ButtonListener();
+    // The maximum length of the ID of a button.
+    protected static final int MAX_BUTTON_ID_LENGTH = 100;
 
     public PaginatedCommand(String name, String help, boolean guildOnly, List<OptionData> options, int items) {
         super();
@@ -78,6 +80,29 @@ public abstract class PaginatedCommand extends SlashCommand {
      */
     protected abstract EmbedBuilder getEmbed(int startingIndex);
 
+    /**
+     * Given the index of the start of the embed and the argument of the paginated message, get the next ITEMS_PER_PAGE items.
+     * Override this when the items depend on the arguments of the invocation, such as a search query.
+     *
+     * @param startingIndex the index of the first item in the list.
+     * @param argument      the argument the message was created with, or an empty string.
+     * @return an unbuilt embed that can be sent.
+     */
+    protected EmbedBuilder getEmbed(int startingIndex, String argument) {
+        return getEmbed(startingIndex);
+    }
+
+    /**
+     * Get the maximum index into the paginated list of a message.
+     * Override this when the items depend on the arguments of the invocation, such as a search query.
+     *
+     * @param argument the argument the message was created with, or an empty string.
+     * @return the maximum index.
+     */
+    protected int getMaximum(String argument) {
+        return maximum;
+    }
+
     /**
      * Set a new maximum index into the paginated list.
      * Updates the point at which buttons are created in new queries.
@@ -102,8 +127,22 @@ public abstract class PaginatedCommand extends SlashCommand {
      * @return the ReplyAction
      */
     protected ReplyCallbackAction createPaginatedMessage(SlashCommandEvent event) {
-        var reply = event.deferReply().addEmbeds(getEmbed(0).build());
-        var buttons = createScrollButtons(0);
+        return createPaginatedMessage(event, "");
+    }
+
+    /**
+     * Create a {@link ReplyCallbackAction} which, if the number of items requires, also contains buttons for scrolling.
+     * The argument is stored in the buttons, and passed to {@link #getEmbed(int, String)} and {@link #getMaximum(String)}
+     * when scrolling. As it is part of the button IDs, it must be short: button IDs are limited to
+     * {@value #MAX_BUTTON_ID_LENGTH} characters.
+     *
+     * @param event    the active SlashCommandEvent.
+     * @param argument the argument of the message.
+     * @return the ReplyAction
+     */
+    protected ReplyCallbackAction createPaginatedMessage(SlashCommandEvent event, String argument) {
+        var reply = event.deferReply().addEmbeds(getEmbed(0, argument).build());
+        var buttons = createScrollButtons(0, argument);
         if (buttons.length > 0) {
             reply.addActionRow(buttons);
         }
@@ -116,20 +155,22 @@ public abstract class PaginatedCommand extends SlashCommand {
      * Currently, this just creates a left and right arrow.
      * Left arrow scrolls back a page. Right arrow scrolls forward a page.
      *
-     * @param start The quote number at the start of the current page.
+     * @param start    The quote number at the start of the current page.
+     * @param argument The argument of the message.
      * @return A row of buttons to go back and forth by one page.
      */
-    private ItemComponent[] createScrollButtons(int start) {
-        Button backward = Button.primary(listener.getButtonID() + "-" + start + "-prev",
+    private ItemComponent[] createScrollButtons(int start, String argument) {
+        final var suffix = argument.isEmpty() ? "" : "-" + argument;
+        Button backward = Button.primary(listener.getButtonID() + "-" + start + "-prev" + suffix,
             Emoji.fromUnicode("◀️")).asDisabled();
-        Button forward = Button.primary(listener.getButtonID() + "-" + start + "-next",
+        Button forward = Button.primary(listener.getButtonID() + "-" + start + "-next" + suffix,
             Emoji.fromUnicode("▶️")).asDisabled();
 
         if (start != 0) {
             backward = backward.asEnabled();
         }
 
-        if (start + items_per_page < maximum) {
+        if (start + items_per_page < getMaximum(argument)) {
             forward = forward.asEnabled();
         }
 
@@ -157,10 +198,12 @@ public abstract class PaginatedCommand extends SlashCommand {
                 return;
             }
 
-            String[] idParts = button.getId().split("-");
-            if (idParts.length != 3) {
+            // The argument may contain dashes, so it is not split
+            String[] idParts = button.getId().split("-", 4);
+            if (idParts.length < 3) {
                 return;
             }
+            final var argument = idParts.length == 4 ? idParts[3] : "";
 
             if (!idParts[0].equals(getButtonID())) {
                 return;
@@ -175,15 +218,15 @@ public abstract class PaginatedCommand extends SlashCommand {
                 new ArrayList<>(event.getMessage().getActionRows().subList(1, oldActionRowsSize));
 
             if (idParts[2].equals("next")) {
-                oldActionRows.add(0, ActionRow.of(createScrollButtons(current + items_per_page)));
+                oldActionRows.add(0, ActionRow.of(createScrollButtons(current + items_per_page, argument)));
                 event
-                    .editMessageEmbeds(getEmbed(current + items_per_page).build())
+                    .editMessageEmbeds(getEmbed(current + items_per_page, argument).build())
                     .setActionRows(oldActionRows)
                     .queue();
             } else if (idParts[2].equals("prev")) {
-                oldActionRows.add(0, ActionRow.of(createScrollButtons(current - items_per_page)));
+                oldActionRows.add(0, ActionRow.of(createScrollButtons(current - items_per_page, argument)));
                 event
-                    .editMessageEmbeds(getEmbed(current - items_per_page).build())
+                    .editMessageEmbeds(getEmbed(current - items_per_page, argument).build())
                     .setActionRows(oldActionRows)
                     .queue();
             }
@@ -45,11 +45,8 @@ public class ContextMenuAddQuote extends MessageContextMenu implements GuildOnly
         UserReference quotee = new UserReference(event.getTarget().getAuthor().getIdLong());
         Quote finishedQuote = new StringQuote(quotee, text, author);
 
-        var quoteID = QuoteList.getQuoteSlot();
-        finishedQuote.setID(quoteID);
-
         // All execution leads to here, where finishedQuote is valid.
-        QuoteList.addQuote(finishedQuote);
+        final var quoteID = QuoteList.addQuote(finishedQuote);
 
         event.replyEmbeds(new EmbedBuilder(finishedQuote.getQuoteMessage()).setTitle("Added quote " + quoteID).build()).mentionRepliedUser(false).queue();
     }
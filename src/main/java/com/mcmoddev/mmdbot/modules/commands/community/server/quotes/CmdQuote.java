@@ -25,12 +25,12 @@ import com.jagrosh.jdautilities.command.SlashCommandEvent;
 import com.mcmoddev.mmdbot.modules.commands.DismissListener;
 import com.mcmoddev.mmdbot.modules.commands.community.PaginatedCommand;
 import com.mcmoddev.mmdbot.utilities.Utils;
-import com.mcmoddev.mmdbot.utilities.quotes.NullQuote;
 import com.mcmoddev.mmdbot.utilities.quotes.Quote;
 import com.mcmoddev.mmdbot.utilities.quotes.QuoteList;
 import com.mcmoddev.mmdbot.utilities.quotes.StringQuote;
 import com.mcmoddev.mmdbot.utilities.quotes.UserReference;
 import net.dv8tion.jda.api.EmbedBuilder;
+import net.dv8tion.jda.api.entities.MessageEmbed;
 import net.dv8tion.jda.api.interactions.commands.OptionMapping;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.OptionData;
@@ -45,16 +45,14 @@ import java.util.Random;
 
 /**
  * Handles all of the quote related commands.
- * Contains four subcommands;
+ * Contains five subcommands;
  * - Add
  * - Remove
  * - Get
  * - List
+ * - Search
  * <p>
  * Each is documented more thoroughly in the appropriate subclass.
- * <p>
- * TODO: Database migration in progress.
- * This will change a lot.
  *
  * @author Curle
  */
@@ -70,7 +68,8 @@ public class CmdQuote extends SlashCommand {
             new AddQuote(),
             new GetQuote(),
             new RemoveQuote(),
-            new ListQuotes()
+            new ListQuotes(),
+            new SearchQuotes()
         };
     }
 
@@ -153,11 +152,8 @@ public class CmdQuote extends SlashCommand {
                 }
             }
 
-            var quoteID = QuoteList.getQuoteSlot();
-            finishedQuote.setID(quoteID);
-
             // All execution leads to here, where finishedQuote is valid.
-            QuoteList.addQuote(finishedQuote);
+            final var quoteID = QuoteList.addQuote(finishedQuote);
 
             event.reply("Added quote " + quoteID + "!").mentionRepliedUser(false).queue();
         }
@@ -206,31 +202,26 @@ public class CmdQuote extends SlashCommand {
             // Check whether any parameters given.
             if (index != null) {
                 // We have something to parse.
-                if (index.getAsLong() >= QuoteList.getQuoteSlot()) {
-                    event.replyEmbeds(QuoteList.getQuoteNotPresent()).mentionRepliedUser(false).queue();
-                    return;
-                }
-
-                var fetched = QuoteList.getQuote((int) index.getAsLong());
+                var fetched = index.getAsLong() >= QuoteList.getQuoteSlot() ? null
+                    : QuoteList.getQuote((int) index.getAsLong());
                 // Check if the quote exists.
-                if (fetched == QuoteList.NULL) {
+                if (fetched == null) {
                     // Send the standard message
                     event.replyEmbeds(QuoteList.getQuoteNotPresent()).mentionRepliedUser(false).queue();
                     return;
                 }
 
                 // It exists, so get the content and send it.
-                assert fetched != null;
                 event.replyEmbeds(fetched.getQuoteMessage()).mentionRepliedUser(false).queue();
                 return;
             }
 
-            Quote fetched;
-            Random rand = new Random();
-            do {
-                int id = rand.nextInt(QuoteList.getQuoteSlot());
-                fetched = QuoteList.getQuote(id);
-            } while (fetched == null);
+            final var quotes = List.copyOf(QuoteList.getQuotes());
+            if (quotes.isEmpty()) {
+                event.replyEmbeds(QuoteList.getQuoteNotPresent()).mentionRepliedUser(false).queue();
+                return;
+            }
+            final Quote fetched = quotes.get(new Random().nextInt(quotes.size()));
 
             // It exists, so get the content and send it.
             event.replyEmbeds(fetched.getQuoteMessage()).mentionRepliedUser(false).queue();
@@ -272,8 +263,12 @@ public class CmdQuote extends SlashCommand {
                 return;
             }
 
-            QuoteList.removeQuote((int) event.getOption("index").getAsLong());
-            event.reply("Quote " + event.getOption("index").getAsLong() + " removed.").mentionRepliedUser(false).setEphemeral(true).queue();
+            final long index = event.getOption("index").getAsLong();
+            if (index < 0 || index > Integer.MAX_VALUE || !QuoteList.removeQuote((int) index)) {
+                event.reply("Quote " + index + " does not exist.").mentionRepliedUser(false).setEphemeral(true).queue();
+                return;
+            }
+            event.reply("Quote " + index + " removed.").mentionRepliedUser(false).setEphemeral(true).queue();
         }
     }
 
@@ -351,7 +346,7 @@ public class CmdQuote extends SlashCommand {
                 // Get the current Quote
                 Quote fetchedQuote = QuoteList.getQuote(x);
 
-                if (fetchedQuote instanceof NullQuote || fetchedQuote == null) {
+                if (fetchedQuote == null) {
                     embed.addField(String.valueOf(x), "Quote does not exist.", false);
                 } else {
                     // Put it in the description.
@@ -371,4 +366,110 @@ public class CmdQuote extends SlashCommand {
             }
         }
     }
+
+    /**
+     * Search the quotes by text, using the full-text index of the quotes.
+     * Each word of the query matches the words starting with it, and the results are sorted by relevance.
+     * Uses pagination and Interaction buttons.
+     * <p>
+     * Possible forms:
+     * <p>
+     * /quote search funny
+     * /quote search funny @Curle
+     * Can be used by anyone.
+     */
+    public class SearchQuotes extends PaginatedCommand {
+        private static ButtonListener searchListener;
+
+        /**
+         * Create the command.
+         * Sets all the usual flags.
+         */
+        public SearchQuotes() {
+            super("search", "Search the quotes.", true, List.of(
+                new OptionData(OptionType.STRING, "query", "The words to search for. Matches the words starting with them.").setRequired(true),
+                new OptionData(OptionType.USER, "quotee", "The person being quoted.").setRequired(false)
+            ), 10);
+            category = new Category("Fun");
+            arguments = "<query> [quotee]";
+            guildOnly = true;
+
+            this.listener = new SearchListener();
+            searchListener = this.listener;
+        }
+
+        public static ButtonListener getSearchListener() {
+            return searchListener;
+        }
+
+        @Override
+        protected void execute(final SlashCommandEvent event) {
+            if (!Utils.checkCommand(this, event)) {
+                return;
+            }
+
+            final var quotee = event.getOption("quotee");
+            // The search is stored in the scroll buttons, as the quotee ID followed by the query
+            final var argument = (quotee == null ? 0 : quotee.getAsUser().getIdLong()) + " "
+                + event.getOption("query").getAsString().trim();
+            // The ID of a button is the ID of the listener, the starting index, the direction and the argument
+            if ((listener.getButtonID() + "-" + Integer.MAX_VALUE + "-prev-" + argument).length() > MAX_BUTTON_ID_LENGTH) {
+                event.reply("The search query is too long!").setEphemeral(true).queue();
+                return;
+            }
+
+            createPaginatedMessage(event, argument).addActionRows(ActionRow.of(DismissListener.createDismissButton(event))).queue();
+        }
+
+        @Override
+        protected int getMaximum(final String argument) {
+            final var search = argument.split(" ", 2);
+            return QuoteList.countSearchResults(search[1], Long.parseLong(search[0]));
+        }
+
+        @Override
+        protected EmbedBuilder getEmbed(final int start) {
+            return getEmbed(start, "0 ");
+        }
+
+        /**
+         * Gather a page of the results of a search, as an embed.
+         *
+         * @param start    The index of the result at the start of the current page.
+         * @param argument The quotee ID and the query of the search.
+         * @return An EmbedBuilder which is ready to be sent.
+         */
+        @Override
+        protected EmbedBuilder getEmbed(final int start, final String argument) {
+            final var search = argument.split(" ", 2);
+            final var results = QuoteList.search(search[1], Long.parseLong(search[0]), start, items_per_page);
+            final var embed = new EmbedBuilder()
+                .setColor(Color.GREEN)
+                .setTitle("Quote Search")
+                .setTimestamp(Instant.now());
+
+            if (results.isEmpty()) {
+                return embed.setDescription(start == 0 ? "No quotes were found." : "There are no more results.");
+            }
+
+            embed.setDescription("Results " + (start + 1) + " to " + (start + results.size()) + " for: " + search[1]);
+            for (final var quote : results) {
+                // message - author
+                var content = quote.getQuoteText() + " - " + quote.getQuotee().resolveReference();
+                if (content.length() > MessageEmbed.VALUE_MAX_LENGTH) {
+                    content = content.substring(0, MessageEmbed.VALUE_MAX_LENGTH - 3) + "...";
+                }
+                embed.addField(String.valueOf(quote.getID()), content, false);
+            }
+
+            return embed;
+        }
+
+        public class SearchListener extends PaginatedCommand.ButtonListener {
+            @Override
+            public String getButtonID() {
+                return "quotesearch";
+            }
+        }
+    }
 }
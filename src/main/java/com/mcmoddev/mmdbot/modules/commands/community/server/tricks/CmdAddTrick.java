@@ -27,6 +27,7 @@ import com.jagrosh.jdautilities.command.SlashCommandEvent;
 import com.mcmoddev.mmdbot.MMDBot;
 import com.mcmoddev.mmdbot.gist.GistUtils;
 import com.mcmoddev.mmdbot.utilities.Utils;
+import com.mcmoddev.mmdbot.utilities.scripting.ScriptingUtils;
 import com.mcmoddev.mmdbot.utilities.tricks.ScriptTrick;
 import com.mcmoddev.mmdbot.utilities.tricks.Trick;
 import com.mcmoddev.mmdbot.utilities.tricks.Tricks;
@@ -35,6 +36,7 @@ import java.io.IOException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
 
 /**
  * Adds a trick to the list.
@@ -78,17 +80,39 @@ public final class CmdAddTrick extends SlashCommand {
             return;
         }
 
-        Trick trick = trickType.createFromCommand(event);
-        Optional<Trick> originalTrick = Tricks.getTricks().stream()
-            .filter(t -> t.getNames().stream().anyMatch(n -> trick.getNames().contains(n))).findAny();
+        final Trick trick;
+        try {
+            trick = trickType.createFromCommand(event);
+        } catch (ScriptingUtils.ScriptingException e) {
+            event.reply("Could not create the trick! " + e.getMessage()).setEphemeral(true).queue();
+            return;
+        }
+        event.reply(addOrReplace(trick)).mentionRepliedUser(false).setEphemeral(true).queue();
+    }
 
-        originalTrick.ifPresentOrElse(original -> {
-            Tricks.replaceTrick(original, trick);
-            event.reply("Updated trick!").mentionRepliedUser(false).setEphemeral(true).queue();
-        }, () -> {
+    /**
+     * Adds a trick, or replaces the existing trick which has one of its names. <br>
+     * Names are unique, so the trick is rejected if its names belong to several existing tricks.
+     *
+     * @param trick the trick
+     * @return the message to reply with
+     */
+    private static String addOrReplace(final Trick trick) {
+        final var existing = trick.getNames().stream()
+            .map(Tricks::getTrick)
+            .flatMap(Optional::stream)
+            .distinct()
+            .toList();
+        if (existing.size() > 1) {
+            return "Could not create the trick! Its names belong to several existing tricks: "
+                + existing.stream().map(t -> t.getNames().get(0)).collect(Collectors.joining(", "));
+        }
+        if (existing.isEmpty()) {
             Tricks.addTrick(trick);
-            event.reply("Added trick!").mentionRepliedUser(false).setEphemeral(true).queue();
-        });
+            return "Added trick!";
+        }
+        Tricks.replaceTrick(existing.get(0), trick);
+        return "Updated trick!";
     }
 
     public static final class Prefix extends Command {
@@ -149,8 +173,14 @@ public final class CmdAddTrick extends SlashCommand {
                 }
             }
 
-            Tricks.addTrick(trickType.createFromArgs(args));
-            event.getMessage().reply("Added trick!").mentionRepliedUser(false).queue();
+            final Trick trick;
+            try {
+                trick = trickType.createFromArgs(args);
+            } catch (ScriptingUtils.ScriptingException e) {
+                event.getMessage().reply("Could not create the trick! " + e.getMessage()).mentionRepliedUser(false).queue();
+                return;
+            }
+            event.getMessage().reply(addOrReplace(trick)).mentionRepliedUser(false).queue();
         }
     }
 }
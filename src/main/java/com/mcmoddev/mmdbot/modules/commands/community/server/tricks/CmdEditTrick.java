@@ -27,6 +27,7 @@ import com.jagrosh.jdautilities.command.SlashCommandEvent;
 import com.mcmoddev.mmdbot.MMDBot;
 import com.mcmoddev.mmdbot.gist.GistUtils;
 import com.mcmoddev.mmdbot.utilities.Utils;
+import com.mcmoddev.mmdbot.utilities.scripting.ScriptingUtils;
 import com.mcmoddev.mmdbot.utilities.tricks.ScriptTrick;
 import com.mcmoddev.mmdbot.utilities.tricks.Trick;
 import com.mcmoddev.mmdbot.utilities.tricks.Tricks;
@@ -97,8 +98,7 @@ public final class CmdEditTrick extends SlashCommand {
 
             try {
                 Trick trick = trickType.createFromCommand(event);
-                Optional<Trick> originalTrick = Tricks.getTricks().stream()
-                    .filter(t -> t.getNames().stream().anyMatch(n -> trick.getNames().contains(n))).findAny();
+                Optional<Trick> originalTrick = Tricks.getTrickWithAnyName(trick.getNames());
 
                 originalTrick.ifPresentOrElse(
                     original -> {
@@ -106,11 +106,14 @@ public final class CmdEditTrick extends SlashCommand {
                         event.reply("Updated trick!").mentionRepliedUser(false).setEphemeral(true).queue();
                     },
                     () ->
-                        event.reply("No command with that name exists!").mentionRepliedUser(false).setEphemeral(true).queue()
+                        event.reply("No command with that name exists!" + CmdRunTrick.getDidYouMean(trick.getNames().get(0)))
+                            .mentionRepliedUser(false).setEphemeral(true).queue()
                 );
 
             } catch (IllegalArgumentException e) {
                 MMDBot.LOGGER.warn("Failure adding trick: {}", e.getMessage());
+            } catch (ScriptingUtils.ScriptingException e) {
+                event.reply("Could not edit the trick! " + e.getMessage()).setEphemeral(true).queue();
             }
         }
     }
@@ -175,14 +178,20 @@ public final class CmdEditTrick extends SlashCommand {
                 }
             }
 
-            Trick trick = trickType.createFromArgs(args);
-            Optional<Trick> originalTrick = Tricks.getTricks().stream()
-                .filter(t -> t.getNames().stream().anyMatch(n -> trick.getNames().contains(n))).findAny();
+            final Trick trick;
+            try {
+                trick = trickType.createFromArgs(args);
+            } catch (ScriptingUtils.ScriptingException e) {
+                event.getMessage().reply("Could not edit the trick! " + e.getMessage()).mentionRepliedUser(false).queue();
+                return;
+            }
+            Optional<Trick> originalTrick = Tricks.getTrickWithAnyName(trick.getNames());
 
             originalTrick.ifPresentOrElse(original -> {
                 Tricks.replaceTrick(original, trick);
                 event.getMessage().reply("Updated trick!").mentionRepliedUser(false).queue();
-            }, () -> event.getMessage().reply("No command with that name exists!").mentionRepliedUser(false).queue());
+            }, () -> event.getMessage().reply("No command with that name exists!" + CmdRunTrick.getDidYouMean(trick.getNames().get(0)))
+                .mentionRepliedUser(false).queue());
         }
     }
 }
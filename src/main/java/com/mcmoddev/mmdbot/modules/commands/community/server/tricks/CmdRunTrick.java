@@ -33,8 +33,10 @@ import net.dv8tion.jda.api.interactions.commands.Command;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.OptionData;
 
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.stream.Collectors;
 
 /**
  * Fetch and execute a given trick.
@@ -76,9 +78,11 @@ public final class CmdRunTrick extends SlashCommand {
         }
 
         event.deferReply().queue(hook -> {
-            Tricks.getTrick(Utils.getOrEmpty(event, "name")).ifPresentOrElse(
-                trick -> trick.execute(new TrickContext.Slash(event, hook, Utils.getOrEmpty(event, "args").split(" "))),
-                () -> hook.editOriginal("No trick with that name was found.").setActionRow(DismissListener.createDismissButton(event)).queue()
+            final var name = Utils.getOrEmpty(event, "name");
+            Tricks.getTrick(name).ifPresentOrElse(
+                trick -> Tricks.runTrick(trick, new TrickContext.Slash(event, hook, Utils.getOrEmpty(event, "args").split(" "))),
+                () -> hook.editOriginal("No trick with that name was found." + getDidYouMean(name))
+                    .setActionRow(DismissListener.createDismissButton(event)).queue()
             );
         });
     }
@@ -89,9 +93,39 @@ public final class CmdRunTrick extends SlashCommand {
         event.replyChoices(getNamesStartingWith(currentChoice, 5)).queue();
     }
 
+    /**
+     * Gets the autocomplete choices for a trick name: the names starting with the current choice, followed by the
+     * names most similar to it, in case it is mistyped.
+     *
+     * @param currentChoice the current choice
+     * @param limit         the maximum amount of choices
+     * @return the choices
+     */
     public static List<Command.Choice> getNamesStartingWith(final String currentChoice, final int limit) {
-        return Tricks.getTricks().stream().filter(t -> t.getNames().get(0).startsWith(currentChoice))
-            .limit(limit).map(t -> new Command.Choice(t.getNames().get(0), t.getNames().get(0))).toList();
+        final var names = new LinkedHashSet<>(Tricks.getTrickNamesStartingWith(currentChoice, limit));
+        if (names.size() < limit && !currentChoice.isEmpty()) {
+            for (final var name : Tricks.getSimilarTrickNames(currentChoice, limit)) {
+                if (names.size() >= limit) {
+                    break;
+                }
+                names.add(name);
+            }
+        }
+        return names.stream().map(name -> new Command.Choice(name, name)).toList();
+    }
+
+    /**
+     * Suggests the tricks whose names are the most similar to a trick name which was not found.
+     *
+     * @param name the name
+     * @return the suggestion, or an empty string if no trick name is similar
+     */
+    public static String getDidYouMean(final String name) {
+        final var similar = Tricks.getSimilarTrickNames(name, 3);
+        if (similar.isEmpty()) {
+            return "";
+        }
+        return " Did you mean " + similar.stream().map(n -> "`" + n + "`").collect(Collectors.joining(", ")) + "?";
     }
 
     public static final class Prefix extends com.jagrosh.jdautilities.command.Command {
@@ -107,7 +141,7 @@ public final class CmdRunTrick extends SlashCommand {
 
         @Override
         protected void execute(final CommandEvent event) {
-            Tricks.getTrick(trickName).ifPresentOrElse(trick -> trick.execute(new TrickContext.Normal(event, event.getArgs().split(" "))),
+            Tricks.getTrick(trickName).ifPresentOrElse(trick -> Tricks.runTrick(trick, new TrickContext.Normal(event, event.getArgs().split(" "))),
                 () -> event.getMessage().reply("This trick does not exist anymore!").queue());
         }
     }
@@ -46,6 +46,7 @@ public final class CmdTrick extends SlashCommand {
         child.add(new CmdRawTrick());
         Tricks.getTrickTypes().entrySet().stream().map(entry -> new CmdAddTrick(entry.getKey(), entry.getValue())).forEach(child::add);
         child.add(new CmdListTricks());
+        child.add(new CmdTrickStats());
         guildOnly = false;
 
         children = child.toArray(SlashCommand[]::new);
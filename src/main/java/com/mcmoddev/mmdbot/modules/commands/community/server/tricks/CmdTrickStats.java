@@ -0,0 +1,118 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.modules.commands.community.server.tricks;
+
+import com.jagrosh.jdautilities.command.SlashCommand;
+import com.jagrosh.jdautilities.command.SlashCommandEvent;
+import com.mcmoddev.mmdbot.modules.commands.DismissListener;
+import com.mcmoddev.mmdbot.utilities.Utils;
+import com.mcmoddev.mmdbot.utilities.tricks.TrickUsage;
+import net.dv8tion.jda.api.EmbedBuilder;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import net.dv8tion.jda.api.interactions.commands.build.OptionData;
+import net.dv8tion.jda.api.interactions.components.ActionRow;
+import net.dv8tion.jda.api.utils.TimeFormat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Shows the usage statistics of the most used, slowest or most failing tricks.
+ * <p>
+ * Takes the form:
+ * /trick stats
+ * /trick stats [sort]
+ *
+ * @see TrickUsage
+ */
+public final class CmdTrickStats extends SlashCommand {
+
+    /**
+     * The amount of tricks shown.
+     */
+    private static final int SHOWN_TRICKS = 15;
+
+    /**
+     * Instantiates a new Cmd trick stats.
+     */
+    public CmdTrickStats() {
+        super();
+        name = "stats";
+        help = "Shows the usage statistics of the tricks.";
+        category = new Category("Fun");
+        guildOnly = true;
+        options = List.of(new OptionData(OptionType.STRING, "sort", "How to sort the tricks. Defaults to usage.")
+            .addChoice("usage", "usage").addChoice("latency", "latency").addChoice("failures", "failures"));
+    }
+
+    /**
+     * Execute.
+     *
+     * @param event the event
+     */
+    @Override
+    protected void execute(final SlashCommandEvent event) {
+        if (!Utils.checkCommand(this, event)) {
+            return;
+        }
+
+        final var sort = Utils.getOrEmpty(event, "sort");
+        final var stats = TrickUsage.getStats(switch (sort) {
+            case "latency" -> TrickUsage.Stats.BY_LATENCY;
+            case "failures" -> TrickUsage.Stats.BY_FAILURES;
+            default -> TrickUsage.Stats.BY_USAGE;
+        });
+        if (stats.isEmpty()) {
+            event.deferReply(true).setContent("No trick was used yet!").queue();
+            return;
+        }
+
+        final var embed = new EmbedBuilder()
+            .setTitle("Trick statistics (by %s)".formatted(sort.isEmpty() ? "usage" : sort))
+            .setDescription(stats.stream().limit(SHOWN_TRICKS).map(CmdTrickStats::format)
+                .collect(Collectors.joining("\n")))
+            .setFooter("p50 and p99 are the median and 99th percentile of the execution time")
+            .setTimestamp(Instant.now());
+        event.replyEmbeds(embed.build()).addActionRows(ActionRow.of(DismissListener.createDismissButton(event)))
+            .queue();
+    }
+
+    private static String format(final TrickUsage.Stats stats) {
+        final var builder = new StringBuilder()
+            .append("`").append(stats.name()).append("`: ")
+            .append(stats.invocations()).append(stats.invocations() == 1 ? " use" : " uses");
+        if (stats.failures() > 0) {
+            builder.append(" (").append(stats.failures()).append(" failed)");
+        }
+        builder.append(" | p50 ").append(formatDuration(stats.p50()))
+            .append(" | p99 ").append(formatDuration(stats.p99()));
+        if (stats.lastUsed() != null) {
+            builder.append(" | last used ").append(TimeFormat.RELATIVE.format(stats.lastUsed()));
+        }
+        return builder.toString();
+    }
+
+    private static String formatDuration(final Duration duration) {
+        return "%.2fms".formatted(duration.toNanos() / 1_000_000d);
+    }
+}
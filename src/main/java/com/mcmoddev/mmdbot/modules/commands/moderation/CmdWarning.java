@@ -146,15 +146,15 @@ public class CmdWarning extends SlashCommand {
             User userToSee = event.getOption("user").getAsUser();
             final long userID = userToSee.getIdLong();
 
-            final var warnings = MMDBot.database().withExtension(Warnings.class, db -> db.getWarningsForUser(userID, event.getGuild().getIdLong()));
+            final var warnings = MMDBot.database().withExtension(Warnings.class, db -> db.getWarningDocumentsForUser(userID, event.getGuild().getIdLong()));
 
             final EmbedBuilder embed = new EmbedBuilder()
                 .setDescription("The warnings of " + mentionAndID(userID) + ":")
                 .setTimestamp(Instant.now()).setColor(Color.MAGENTA);
-            for (final String id : warnings) {
-                embed.addField("Warning " + id + ":",
-                    "Reason: **" + withExtension(db -> db.getReason(id)) + "**; Warner: " + mentionAndID(withExtension(db -> db.getModerator(id))) + "; Timestamp: "
-                        + new Timestamp(TimeFormat.DATE_TIME_LONG, withExtension(db -> db.getTimestamp(id).toEpochMilli())) {
+            for (final var warning : warnings) {
+                embed.addField("Warning " + warning.warnId() + ":",
+                    "Reason: **" + warning.reason() + "**; Warner: " + mentionAndID(warning.moderatorId()) + "; Timestamp: "
+                        + new Timestamp(TimeFormat.DATE_TIME_LONG, warning.timestamp().toEpochMilli()) {
                     }.toString(),
                     false);
             }
@@ -215,14 +215,12 @@ public class CmdWarning extends SlashCommand {
 
                 event.getInteraction().reply(new MessageBuilder().append("Warnings cleared!").build()).setEphemeral(true).queue();
             } else {
-                final var warnExists = withExtension(db -> db.warningExists(warnId));
-                if (!warnExists) {
+                final var warnDoc = withExtension(db -> db.getWarningDocument(warnId));
+                if (warnDoc == null) {
                     event.deferReply(true).setContent("A warning with the specified ID could not be found").queue();
                     return;
                 }
 
-                final var warnDoc = withExtension(db -> db.getWarningDocument(warnId));
-
                 MMDBot.database().useExtension(Warnings.class, db -> db.deleteById(warnId));
 
                 Utils.executeInDMs(warnDoc.userId(), channel -> {
@@ -264,10 +262,10 @@ public class CmdWarning extends SlashCommand {
                 event.replyChoices(withExtension(db -> db.getWarningsForUser(member.getIdLong(), event.getGuild().getIdLong()))
                     .stream().filter(id -> id.startsWith(currentChoice)).limit(5).map(id -> new Command.Choice(id, id)).toList()).queue();
             } else {*/
-            event.replyChoices(withExtension(Warnings::getAllWarnings)
-                .stream().filter(id -> id.startsWith(currentChoice)).limit(5).map(id -> {
-                    final var targetMember = event.getJDA().getUserById(CmdWarning.<Long>withExtension(db -> db.getUser(id)));
-                    return new Command.Choice(id + (targetMember == null ? "" : (" - " + targetMember.getAsTag())), id);
+            event.replyChoices(withExtension(db -> db.getWarningsStartingWith(currentChoice, 5))
+                .stream().map(warning -> {
+                    final var targetMember = event.getJDA().getUserById(warning.userId());
+                    return new Command.Choice(warning.warnId() + (targetMember == null ? "" : (" - " + targetMember.getAsTag())), warning.warnId());
                 }).toList()).queue();
         }
     }
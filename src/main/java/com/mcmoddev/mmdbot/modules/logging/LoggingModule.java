@@ -30,14 +30,17 @@ import com.mcmoddev.mmdbot.modules.logging.users.EventRoleRemoved;
 import com.mcmoddev.mmdbot.modules.logging.users.EventUserJoined;
 import com.mcmoddev.mmdbot.modules.logging.users.EventUserLeft;
 import com.mcmoddev.mmdbot.modules.logging.users.UserBanned;
-import com.mcmoddev.mmdbot.utilities.ThreadedEventListener;
 import com.mcmoddev.mmdbot.utilities.Utils;
 import com.mcmoddev.mmdbot.utilities.console.ConsoleChannelButtonListener;
+import com.mcmoddev.mmdbot.utilities.threading.EventPriority;
+import com.mcmoddev.mmdbot.utilities.threading.ListenerGroup;
 import net.dv8tion.jda.api.entities.TextChannel;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberJoinEvent;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberRemoveEvent;
+import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+import net.dv8tion.jda.api.events.message.MessageUpdateEvent;
 import net.dv8tion.jda.api.hooks.EventListener;
 
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 
 /**
@@ -48,7 +51,7 @@ import java.util.function.Consumer;
  */
 public class LoggingModule {
 
-    private static final Executor THREAD_POOL = Executors.newFixedThreadPool(2, r -> Utils.setThreadDaemon(new Thread(r, "LoggingListener"), true));
+    private static final ListenerGroup LISTENERS = ListenerGroup.create("LoggingListener", 2);
 
     /**
      * Setup and load the bots logging module.
@@ -57,15 +60,16 @@ public class LoggingModule {
         if (MMDBot.getConfig().isEventLoggingModuleEnabled()) {
             MMDBot.getInstance()
                 .addEventListener(
-                    loggingEvent(new EventUserJoined()),
-                    loggingEvent(new EventUserLeft()),
+                    // These persist and restore the roles of members, so their events must not be dropped
+                    LISTENERS.wrap(new EventUserJoined(), EventPriority.CRITICAL.forEvents(GuildMemberJoinEvent.class)),
+                    LISTENERS.wrap(new EventUserLeft(), EventPriority.CRITICAL.forEvents(GuildMemberRemoveEvent.class)),
                     loggingEvent(new EventNicknameChanged()),
                     loggingEvent(new EventRoleAdded()),
                     loggingEvent(new EventRoleRemoved()),
                     loggingEvent(new EventReactionAdded()),
                     loggingEvent(new UserBanned()),
                     loggingEvent(new ConsoleChannelButtonListener()),
-                    loggingEvent(new ScamDetector()),
+                    LISTENERS.wrap(new ScamDetector(), EventPriority.CRITICAL.forEvents(MessageReceivedEvent.class, MessageUpdateEvent.class)),
                     loggingEvent(new ThreadChannelCreatorEvents()));
             MMDBot.LOGGER.warn("Event logging module enabled and loaded.");
         } else {
@@ -74,7 +78,7 @@ public class LoggingModule {
     }
 
     private static EventListener loggingEvent(EventListener listener) {
-        return new ThreadedEventListener(listener, THREAD_POOL);
+        return LISTENERS.wrap(listener);
     }
 
     public static void executeInLoggingChannel(LoggingType loggingType, Consumer<TextChannel> channel) {
@@ -20,12 +20,14 @@
  */
 package com.mcmoddev.mmdbot.modules.logging.misc;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import com.mcmoddev.mmdbot.MMDBot;
 import com.mcmoddev.mmdbot.modules.logging.LoggingModule;
+import com.mcmoddev.mmdbot.utilities.matching.AhoCorasickMatcher;
+import com.mcmoddev.mmdbot.utilities.matching.DomainSet;
+import com.mcmoddev.mmdbot.utilities.matching.HostScanner;
+import com.mcmoddev.mmdbot.utilities.persistence.DebouncedFileWriter;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.Permission;
 import net.dv8tion.jda.api.entities.Guild;
@@ -41,17 +43,23 @@ import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nonnull;
 import java.awt.Color;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Locale;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
-import java.util.stream.StreamSupport;
 
 /**
  * Scam detection system
@@ -60,13 +68,57 @@ import java.util.stream.StreamSupport;
  */
 public class ScamDetector extends ListenerAdapter {
 
-    public static final Gson GSON = new GsonBuilder().disableHtmlEscaping().create();
     public static final String SCAM_LINKS_DATA_URL = "https://phish.sinking.yachts/v2/all";
+    public static final String SCAM_LINKS_RECENT_URL = "https://phish.sinking.yachts/v2/recent/";
 
-    public static final Set<String> SCAM_LINKS = Collections.synchronizedSet(new HashSet<>());
+    /**
+     * The file the last known scam links are saved to, so that they are known as soon as the bot starts.
+     */
+    public static final Path SNAPSHOT_PATH = Path.of("scam_links.json");
+
+    /**
+     * The longest period the recent changes can be requested for. The API rejects longer periods, so links which were
+     * updated longer ago are downloaded again instead.
+     */
+    private static final long MAX_RECENT_SECONDS = Duration.ofDays(7).toSeconds() - Duration.ofHours(1).toSeconds();
+
+    /**
+     * How much older changes than needed are requested, to account for clock differences.
+     */
+    private static final long UPDATE_MARGIN_SECONDS = 60;
+
+    /**
+     * How often all the links are downloaded again, in case some changes were missed.
+     */
+    private static final Duration FULL_REFRESH_INTERVAL = Duration.ofDays(14);
+
+    /**
+     * The current, compiled, scam links. <br>
+     * They are immutable, and are replaced at once when the links are refreshed, so that they can be read without locking.
+     */
+    private static volatile ScamLinks scamLinks = ScamLinks.EMPTY;
+
+    /**
+     * When the scam links were last refreshed, or {@code null} if they never were.
+     */
+    private static volatile Instant lastUpdate;
+
+    /**
+     * When all the scam links were last downloaded, or {@code null} if this is not known.
+     */
+    private static volatile Instant lastFullRefresh;
+
+    /**
+     * The writer of the {@linkplain #SNAPSHOT_PATH snapshot}.
+     */
+    private static final DebouncedFileWriter SNAPSHOT_WRITER = new DebouncedFileWriter("scam links snapshot",
+        SNAPSHOT_PATH, Duration.ofSeconds(1), ScamDetector::writeSnapshot);
 
     static {
-        new Thread(ScamDetector::setupScamLinks, "Scam link collector").start();
+        new Thread(() -> {
+            loadSnapshot();
+            updateScamLinks();
+        }, "Scam link collector").start();
     }
 
     @Override
@@ -89,7 +141,7 @@ public class ScamDetector extends ListenerAdapter {
             member.hasPermission(Permission.MANAGE_CHANNEL)) {
             return;
         }
-        if (containsScam(msg.getContentRaw().toLowerCase(Locale.ROOT))) {
+        if (containsScam(msg.getContentRaw())) {
             final var guild = msg.getGuild();
             final var embed = getLoggingEmbed(msg, loggingReason);
             msg.delete().reason("Scam link").queue($ -> {
@@ -119,28 +171,248 @@ public class ScamDetector extends ListenerAdapter {
         LoggingModule.executeInLoggingChannel(LoggingModule.LoggingType.REQUESTS_DELETION, channel);
     }
 
+    /**
+     * Checks if the text contains a scam link. The check is case-insensitive.
+     *
+     * @param text the text to check
+     * @return if the text contains a scam link
+     */
     public static boolean containsScam(final String text) {
-        synchronized (SCAM_LINKS) {
-            for (final var link : SCAM_LINKS) {
-                if (text.contains(link)) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return scamLinks.matches(text);
     }
 
-    public static boolean setupScamLinks() {
+    /**
+     * {@return an immutable view of the current scam links}
+     */
+    public static Set<String> getScamLinks() {
+        return scamLinks.links();
+    }
+
+    /**
+     * Downloads all the scam links, replacing the current ones.
+     *
+     * @return if the links were successfully downloaded
+     */
+    public static synchronized boolean setupScamLinks() {
         MMDBot.LOGGER.debug("Setting up scam links! Receiving data from {}.", SCAM_LINKS_DATA_URL);
-        try (var is = new URL(SCAM_LINKS_DATA_URL).openStream()) {
-            final String result = new String(is.readAllBytes(), StandardCharsets.UTF_8);
-            SCAM_LINKS.clear();
-            SCAM_LINKS.addAll(StreamSupport.stream(GSON.fromJson(result, JsonArray.class).spliterator(), false)
-                .map(JsonElement::getAsString).filter(s -> !s.contains("discordapp.co")).toList());
+        final var now = Instant.now();
+        try (var reader = new JsonReader(openFeed(SCAM_LINKS_DATA_URL))) {
+            final var links = new HashSet<String>();
+            reader.beginArray();
+            while (reader.hasNext()) {
+                final var link = reader.nextString().toLowerCase(Locale.ROOT);
+                if (isValidLink(link)) {
+                    links.add(link);
+                }
+            }
+            reader.endArray();
+            // Compile the new links before replacing the old ones, so that detection keeps working in the meantime
+            scamLinks = ScamLinks.compile(links, MMDBot.getConfig().getScamDetectionMode());
+            lastUpdate = now;
+            lastFullRefresh = now;
+            MMDBot.LOGGER.debug("Compiled {} scam links.", links.size());
+            saveSnapshot();
             return true;
-        } catch (final IOException e) {
+        } catch (final IOException | IllegalStateException e) {
             MMDBot.LOGGER.error("Error while setting up scam links!", e);
         }
         return false;
     }
+
+    /**
+     * Updates the scam links with the links added and removed since they were last refreshed. <br>
+     * If the links were never refreshed, were refreshed too long ago for the recent changes to cover it, were last
+     * downloaded more than {@link #FULL_REFRESH_INTERVAL} ago, or if the recent changes could not be fetched, they are
+     * {@linkplain #setupScamLinks() downloaded} again instead.
+     *
+     * @return if the links were successfully updated
+     */
+    public static synchronized boolean updateScamLinks() {
+        final var now = Instant.now();
+        if (lastUpdate == null || lastFullRefresh == null
+            || Duration.between(lastFullRefresh, now).compareTo(FULL_REFRESH_INTERVAL) > 0) {
+            return setupScamLinks();
+        }
+        final long seconds = Duration.between(lastUpdate, now).toSeconds() + UPDATE_MARGIN_SECONDS;
+        if (seconds > MAX_RECENT_SECONDS) {
+            return setupScamLinks();
+        }
+        MMDBot.LOGGER.debug("Updating scam links with the changes of the last {} seconds.", seconds);
+        final var added = new HashSet<String>();
+        final var removed = new HashSet<String>();
+        try (var reader = new JsonReader(openFeed(SCAM_LINKS_RECENT_URL + seconds))) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                readChange(reader, added, removed);
+            }
+            reader.endArray();
+        } catch (final IOException | IllegalStateException e) {
+            MMDBot.LOGGER.warn("Could not fetch the recent scam link changes, downloading all the links instead.", e);
+            return setupScamLinks();
+        }
+        final var mode = MMDBot.getConfig().getScamDetectionMode();
+        final var current = scamLinks;
+        if (current.mode() != mode) {
+            // The mode was changed, so the links need to be compiled again anyway
+            final var links = new HashSet<>(current.links());
+            links.addAll(added);
+            links.removeAll(removed);
+            scamLinks = ScamLinks.compile(links, mode);
+        } else if (!added.isEmpty() || !removed.isEmpty()) {
+            scamLinks = current.withChanges(added, removed);
+        }
+        lastUpdate = now;
+        MMDBot.LOGGER.debug("Updated scam links: {} added, {} removed.", added.size(), removed.size());
+        saveSnapshot();
+        return true;
+    }
+
+    /**
+     * Reads a change of the scam links. Later changes of a link override the earlier ones.
+     */
+    private static void readChange(final JsonReader reader, final Set<String> added, final Set<String> removed)
+        throws IOException {
+        String type = null;
+        final var domains = new ArrayList<String>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "type" -> type = reader.nextString();
+                case "domains" -> {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        domains.add(reader.nextString().toLowerCase(Locale.ROOT));
+                    }
+                    reader.endArray();
+                }
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        for (final var domain : domains) {
+            if ("add".equals(type) && isValidLink(domain)) {
+                removed.remove(domain);
+                added.add(domain);
+            } else if ("delete".equals(type)) {
+                added.remove(domain);
+                removed.add(domain);
+            }
+        }
+    }
+
+    /**
+     * Loads the scam links from the {@linkplain #SNAPSHOT_PATH snapshot}, if it exists.
+     */
+    private static synchronized void loadSnapshot() {
+        if (!Files.exists(SNAPSHOT_PATH)) {
+            return;
+        }
+        try (var reader = new JsonReader(Files.newBufferedReader(SNAPSHOT_PATH, StandardCharsets.UTF_8))) {
+            Instant updated = null;
+            Instant refreshed = null;
+            final var links = new HashSet<String>();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "updated" -> updated = Instant.ofEpochSecond(reader.nextLong());
+                    case "refreshed" -> refreshed = Instant.ofEpochSecond(reader.nextLong());
+                    case "links" -> {
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            links.add(reader.nextString());
+                        }
+                        reader.endArray();
+                    }
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+            scamLinks = ScamLinks.compile(links, MMDBot.getConfig().getScamDetectionMode());
+            lastUpdate = updated;
+            lastFullRefresh = refreshed;
+            MMDBot.LOGGER.info("Loaded {} scam links from the snapshot, last updated at {}.", links.size(), updated);
+        } catch (final IOException | IllegalStateException | NumberFormatException e) {
+            MMDBot.LOGGER.warn("Could not load the scam links snapshot!", e);
+        }
+    }
+
+    /**
+     * Saves the current scam links to the {@linkplain #SNAPSHOT_PATH snapshot}, in the background.
+     */
+    private static void saveSnapshot() {
+        SNAPSHOT_WRITER.schedule();
+    }
+
+    private static void writeSnapshot(final Writer out) throws IOException {
+        final var updated = lastUpdate;
+        final var refreshed = lastFullRefresh;
+        final var links = scamLinks.links();
+        final var writer = new JsonWriter(out);
+        writer.beginObject();
+        writer.name("updated").value(updated.getEpochSecond());
+        if (refreshed != null) {
+            writer.name("refreshed").value(refreshed.getEpochSecond());
+        }
+        writer.name("links").beginArray();
+        for (final var link : links) {
+            writer.value(link);
+        }
+        writer.endArray();
+        writer.endObject();
+        writer.flush();
+    }
+
+    private static Reader openFeed(final String url) throws IOException {
+        final var connection = new URL(url).openConnection();
+        connection.setRequestProperty("X-Identity", "MMDBot");
+        return new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    private static boolean isValidLink(final String link) {
+        return !link.isEmpty() && !link.contains("discordapp.co");
+    }
+
+    /**
+     * The ways scam links can be detected in a message.
+     */
+    public enum DetectionMode {
+        /**
+         * The message is searched for any of the scam links, using an {@link AhoCorasickMatcher}. This detects
+         * links no matter where they are in the message, even if they are not a whole host.
+         */
+        AUTOMATON("automaton"),
+
+        /**
+         * The {@linkplain HostScanner hosts} of the links in the message are extracted, and each of them, along with
+         * its parent domains, is looked up in a {@link DomainSet}. Messages without links are checked without any lookup.
+         */
+        HOSTS("hosts");
+
+        private final String name;
+
+        DetectionMode(final String name) {
+            this.name = name;
+        }
+
+        /**
+         * Gets a mode by its name.
+         *
+         * @param name the name of the mode
+         * @return the mode, or {@link #AUTOMATON} if no mode with the name exists
+         */
+        public static DetectionMode byName(final String name) {
+            for (final var mode : values()) {
+                if (mode.name.equalsIgnoreCase(name)) {
+                    return mode;
+                }
+            }
+            MMDBot.LOGGER.warn("Unknown scam detection mode '{}', defaulting to '{}'.", name, AUTOMATON);
+            return AUTOMATON;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
 }
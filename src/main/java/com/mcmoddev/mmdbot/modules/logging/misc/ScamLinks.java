@@ -0,0 +1,164 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.modules.logging.misc;
+
+import com.mcmoddev.mmdbot.utilities.matching.AhoCorasickMatcher;
+import com.mcmoddev.mmdbot.utilities.matching.DomainSet;
+import com.mcmoddev.mmdbot.utilities.matching.HostScanner;
+import com.mcmoddev.mmdbot.utilities.matching.RangePredicate;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * An immutable, compiled set of scam links. <br>
+ * The links are compiled into a base structure (depending on the {@link ScamDetector.DetectionMode}), and changes are
+ * applied on top of it as small overlays of added and removed links, so that an update does not recompile all the links.
+ * Once the overlays grow past {@value #COMPACTION_THRESHOLD} links, all the links are compiled again.
+ */
+final class ScamLinks {
+
+    /**
+     * The amount of added and removed links after which all the links are compiled again.
+     */
+    static final int COMPACTION_THRESHOLD = 500;
+
+    static final ScamLinks EMPTY = compile(Set.of(), ScamDetector.DetectionMode.AUTOMATON);
+
+    private final Set<String> links;
+    private final ScamDetector.DetectionMode mode;
+
+    private final Set<String> base;
+    private final AhoCorasickMatcher baseMatcher;
+    private final DomainSet baseDomains;
+
+    private final Set<String> added;
+    private final AhoCorasickMatcher addedMatcher;
+    private final DomainSet addedDomains;
+
+    private final Set<String> removed;
+    private final DomainSet removedDomains;
+
+    private final RangePredicate notRemoved;
+    private final RangePredicate isScamHost;
+
+    private ScamLinks(final Set<String> links, final ScamDetector.DetectionMode mode, final Set<String> base,
+                      final AhoCorasickMatcher baseMatcher, final DomainSet baseDomains,
+                      final Set<String> added, final Set<String> removed) {
+        this.links = links;
+        this.mode = mode;
+        this.base = base;
+        this.baseMatcher = baseMatcher;
+        this.baseDomains = baseDomains;
+        this.added = added;
+        this.removed = removed;
+        final boolean automaton = mode == ScamDetector.DetectionMode.AUTOMATON;
+        this.addedMatcher = automaton ? AhoCorasickMatcher.compile(added) : AhoCorasickMatcher.EMPTY;
+        this.addedDomains = automaton ? DomainSet.EMPTY : DomainSet.of(added);
+        this.removedDomains = DomainSet.of(removed);
+        this.notRemoved = (text, start, end) -> !removedDomains.contains(text, start, end);
+        final RangePredicate isScamDomain = (text, start, end) -> addedDomains.contains(text, start, end)
+            || (baseDomains.contains(text, start, end) && !removedDomains.contains(text, start, end));
+        this.isScamHost = (text, start, end) -> HostScanner.testHostAndParents(text, start, end, isScamDomain);
+    }
+
+    /**
+     * Compiles the links.
+     *
+     * @param links the links, lowercased
+     * @param mode  the mode to compile the links for
+     * @return the compiled links
+     */
+    static ScamLinks compile(final Set<String> links, final ScamDetector.DetectionMode mode) {
+        final var copy = Set.copyOf(links);
+        return switch (mode) {
+            case AUTOMATON -> new ScamLinks(copy, mode, copy, AhoCorasickMatcher.compile(copy), DomainSet.EMPTY, Set.of(), Set.of());
+            case HOSTS -> new ScamLinks(copy, mode, copy, AhoCorasickMatcher.EMPTY, DomainSet.of(copy), Set.of(), Set.of());
+        };
+    }
+
+    /**
+     * Applies changes to these links. The base structure is reused, unless the changes since it was compiled
+     * grew too big.
+     *
+     * @param toAdd    the links to add, lowercased
+     * @param toRemove the links to remove, lowercased
+     * @return the new links
+     */
+    ScamLinks withChanges(final Collection<String> toAdd, final Collection<String> toRemove) {
+        final var newLinks = new HashSet<>(links);
+        final var newAdded = new HashSet<>(added);
+        final var newRemoved = new HashSet<>(removed);
+        for (final var link : toAdd) {
+            newLinks.add(link);
+            if (!newRemoved.remove(link) && !base.contains(link)) {
+                newAdded.add(link);
+            }
+        }
+        for (final var link : toRemove) {
+            newLinks.remove(link);
+            if (!newAdded.remove(link) && base.contains(link)) {
+                newRemoved.add(link);
+            }
+        }
+        if (newAdded.size() + newRemoved.size() > COMPACTION_THRESHOLD) {
+            return compile(newLinks, mode);
+        }
+        return new ScamLinks(Set.copyOf(newLinks), mode, base, baseMatcher, baseDomains, Set.copyOf(newAdded),
+            Set.copyOf(newRemoved));
+    }
+
+    /**
+     * Checks if the text contains any of the links. The check is case-insensitive.
+     *
+     * @param text the text to check
+     * @return if the text contains a link
+     */
+    boolean matches(final String text) {
+        return switch (mode) {
+            case AUTOMATON -> (removed.isEmpty() ? baseMatcher.matches(text) : baseMatcher.anyMatch(text, notRemoved))
+                || addedMatcher.matches(text);
+            case HOSTS -> HostScanner.anyHostMatches(text, isScamHost);
+        };
+    }
+
+    /**
+     * {@return all the links}
+     */
+    Set<String> links() {
+        return links;
+    }
+
+    /**
+     * {@return the amount of added and removed links applied on top of the base structure}
+     */
+    int overlaySize() {
+        return added.size() + removed.size();
+    }
+
+    /**
+     * {@return the mode these links are compiled for}
+     */
+    ScamDetector.DetectionMode mode() {
+        return mode;
+    }
+}
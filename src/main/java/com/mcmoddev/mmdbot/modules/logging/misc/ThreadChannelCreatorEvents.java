@@ -31,15 +31,14 @@ import org.jetbrains.annotations.NotNull;
 
 import java.awt.Color;
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 public class ThreadChannelCreatorEvents extends ListenerAdapter {
 
-    private final Map<Type, List<Long>> caches = new HashMap<>();
+    private final Map<Type, Set<Long>> caches = new ConcurrentHashMap<>();
 
     @Override
     public void onMessageReceived(@NotNull final MessageReceivedEvent event) {
@@ -69,7 +68,7 @@ public class ThreadChannelCreatorEvents extends ListenerAdapter {
 
     private void createThread(final MessageReceivedEvent event, final Type threadType) {
         final var author = event.getMember();
-        if (caches.computeIfAbsent(threadType, k -> new ArrayList<>()).contains(author.getIdLong())) {
+        if (caches.computeIfAbsent(threadType, k -> ConcurrentHashMap.newKeySet()).contains(author.getIdLong())) {
             return;
         }
         final var threadTypeStr = threadType.toString();
@@ -80,7 +79,7 @@ public class ThreadChannelCreatorEvents extends ListenerAdapter {
                             **This thread is intended for discussing %s's %s. The %s:**
                             %s""".formatted(author.getAsMention(), threadTypeStr, threadTypeStr, event.getMessage().getContentRaw())).build())
                     .queue(msg -> msg.pin().queue());
-                caches.computeIfAbsent(threadType, k -> new ArrayList<>()).add(author.getIdLong());
+                caches.computeIfAbsent(threadType, k -> ConcurrentHashMap.newKeySet()).add(author.getIdLong());
                 TaskScheduler.scheduleTask(() -> caches.get(threadType).remove(author.getIdLong()), 100, TimeUnit.MINUTES);
             });
         });
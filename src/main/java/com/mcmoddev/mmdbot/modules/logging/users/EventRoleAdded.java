@@ -22,6 +22,7 @@ package com.mcmoddev.mmdbot.modules.logging.users;
 
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.Multimaps;
 import com.mcmoddev.mmdbot.modules.logging.misc.EventReactionAdded;
 import com.mcmoddev.mmdbot.utilities.Utils;
 import com.mcmoddev.mmdbot.utilities.console.MMDMarkers;
@@ -56,8 +57,10 @@ public final class EventRoleAdded extends ListenerAdapter {
      * Once a user to role entry has been encountered, it is removed from the map.
      * <p>
      * Used to ignore roles added back by {@link EventUserJoined role persistance}.
+     * <p>
+     * Iteration over the map must be done while holding its lock.
      */
-    public static final Multimap<User, Role> IGNORE_ONCE = HashMultimap.create();
+    public static final Multimap<User, Role> IGNORE_ONCE = Multimaps.synchronizedMultimap(HashMultimap.create());
 
     /**
      * On guild member role add.
@@ -81,19 +84,21 @@ public final class EventRoleAdded extends ListenerAdapter {
         previousRoles.removeAll(addedRoles); // Just if the member has already been updated
 
         final var target = event.getUser();
-        if (IGNORE_ONCE.containsKey(target)) { // Check for ignored roles
-            final Iterator<Role> ignoredRoles = IGNORE_ONCE.get(target).iterator();
-            while (ignoredRoles.hasNext()) {
-                final var ignored = ignoredRoles.next();
-                if (addedRoles.contains(ignored)) { // Remove ignored roles from event listing and ignore map
-                    LOGGER.info(MMDMarkers.EVENTS, "Role {} for {} was in role ignore map, removing from map and ignoring",
-                        ignored, target);
-                    addedRoles.remove(ignored);
-                    ignoredRoles.remove();
+        synchronized (IGNORE_ONCE) {
+            if (IGNORE_ONCE.containsKey(target)) { // Check for ignored roles
+                final Iterator<Role> ignoredRoles = IGNORE_ONCE.get(target).iterator();
+                while (ignoredRoles.hasNext()) {
+                    final var ignored = ignoredRoles.next();
+                    if (addedRoles.contains(ignored)) { // Remove ignored roles from event listing and ignore map
+                        LOGGER.info(MMDMarkers.EVENTS, "Role {} for {} was in role ignore map, removing from map and ignoring",
+                            ignored, target);
+                        addedRoles.remove(ignored);
+                        ignoredRoles.remove();
+                    }
+                }
+                if (addedRoles.isEmpty()) { // If all the roles were ignored, exit out.
+                    return;
                 }
-            }
-            if (addedRoles.isEmpty()) { // If all the roles were ignored, exit out.
-                return;
             }
         }
 
@@ -21,6 +21,8 @@
 package com.mcmoddev.mmdbot.utilities;
 
 import com.mcmoddev.mmdbot.MMDBot;
+import com.mcmoddev.mmdbot.utilities.metrics.ListenerMetrics;
+import com.mcmoddev.mmdbot.utilities.threading.EventExecutor;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.events.GenericEvent;
 import net.dv8tion.jda.api.hooks.EventListener;
@@ -40,9 +42,15 @@ public record ThreadedEventListener(EventListener listener, Executor threadPool)
     @Override
     public void onEvent(@Nonnull GenericEvent event) {
         if (listener != null) {
-            threadPool.execute(() -> {
+            final var metrics = ListenerMetrics.of(listener.getClass());
+            final long dispatchedAt = System.nanoTime();
+            final Runnable task = () -> {
+                final long startedAt = System.nanoTime();
+                metrics.started(startedAt - dispatchedAt);
+                boolean failed = true;
                 try {
                     listener.onEvent(event);
+                    failed = false;
                 } catch (Exception e) {
                     MMDBot.LOGGER.error("Error while executing threaded event!", e);
                     // Reply to the user in order to inform them
@@ -50,8 +58,15 @@ public record ThreadedEventListener(EventListener listener, Executor threadPool)
                         replyCallback.deferReply(true).addEmbeds(new EmbedBuilder().setTitle("This interaction failed due to an exception.")
                             .setColor(Color.RED).setDescription(e.toString()).build()).queue();
                     }
+                } finally {
+                    metrics.finished(System.nanoTime() - startedAt, failed);
                 }
-            });
+            };
+            if (threadPool instanceof EventExecutor eventExecutor) {
+                eventExecutor.execute(event, task);
+            } else {
+                threadPool.execute(task);
+            }
         }
     }
 
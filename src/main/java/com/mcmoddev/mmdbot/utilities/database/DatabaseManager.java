@@ -20,13 +20,17 @@
  */
 package com.mcmoddev.mmdbot.utilities.database;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 import org.flywaydb.core.Flyway;
 import org.jdbi.v3.core.Jdbi;
 import org.jdbi.v3.sqlobject.SqlObjectPlugin;
 import org.jdbi.v3.sqlobject.customizer.TimestampedConfig;
+import org.sqlite.SQLiteConfig;
 import org.sqlite.SQLiteDataSource;
 
 import javax.sql.DataSource;
+import java.time.Duration;
 import java.time.ZoneOffset;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -51,6 +55,11 @@ public class DatabaseManager {
      */
     private final Jdbi jdbi;
 
+    /**
+     * How long, in milliseconds, a connection waits for the database to be unlocked before failing.
+     */
+    private static final int BUSY_TIMEOUT = 5000;
+
     /**
      * Creates a {@code DatabaseManager} by creating a {@link SQLiteDataSource} pointing at the SQLite database
      * specified by the URL.
@@ -60,13 +69,48 @@ public class DatabaseManager {
      * @throws IllegalArgumentException if the URL does not start with the {@code jdbc:sqlite:} prefix
      */
     public static DatabaseManager connectSQLite(final String url) {
+        return connectSQLite(url, 4, 8192);
+    }
+
+    /**
+     * Creates a {@code DatabaseManager} by creating a pool of connections to the SQLite database specified by the URL.
+     *
+     * <p>Connections are kept open and reused, instead of a connection being opened for each use of the database.
+     * The database is put in WAL mode, so that readers do not wait for writers (writes are still serialized), with
+     * {@code synchronous=NORMAL}, which is durable in WAL mode except for the last transactions on a power loss.</p>
+     *
+     * @param url       the url of the SQLite database to connect to
+     * @param poolSize  the maximum amount of open connections
+     * @param cacheSize the size of the page cache of each connection, in KiB
+     * @return a database manager connected to the specifiedSQLite database
+     * @throws IllegalArgumentException if the URL does not start with the {@code jdbc:sqlite:} prefix
+     */
+    public static DatabaseManager connectSQLite(final String url, final int poolSize, final int cacheSize) {
         checkArgument(url.startsWith("jdbc:sqlite:"), "SQLite DB URL does not start with 'jdbc:sqlite:': %s", url);
 
-        SQLiteDataSource dataSource = new SQLiteDataSource();
+        // The pragmas are applied to each connection when it is opened
+        final SQLiteConfig sqliteConfig = new SQLiteConfig();
+        sqliteConfig.setJournalMode(SQLiteConfig.JournalMode.WAL);
+        sqliteConfig.setSynchronous(SQLiteConfig.SynchronousMode.NORMAL);
+        // A negative cache size is in KiB instead of pages
+        sqliteConfig.setCacheSize(-cacheSize);
+        sqliteConfig.setTempStore(SQLiteConfig.TempStore.MEMORY);
+        sqliteConfig.setBusyTimeout(BUSY_TIMEOUT);
+
+        SQLiteDataSource dataSource = new SQLiteDataSource(sqliteConfig);
         dataSource.setUrl(url);
         dataSource.setDatabaseName("mmdbot");
 
-        return new DatabaseManager(dataSource);
+        final HikariConfig poolConfig = new HikariConfig();
+        poolConfig.setPoolName("MMDBot-Database");
+        poolConfig.setDataSource(dataSource);
+        poolConfig.setMaximumPoolSize(poolSize);
+        poolConfig.setMinimumIdle(1);
+        // SQLite connections do not time out on their own
+        poolConfig.setMaxLifetime(0);
+        poolConfig.setIdleTimeout(Duration.ofMinutes(10).toMillis());
+
+        return new DatabaseManager(new HikariDataSource(poolConfig));
     }
 
     /**
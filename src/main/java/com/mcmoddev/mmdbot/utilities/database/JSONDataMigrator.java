@@ -30,7 +30,12 @@ import com.google.gson.JsonParseException;
 import com.google.gson.reflect.TypeToken;
 import com.jagrosh.jdautilities.commons.utils.SafeIdUtil;
 import com.mcmoddev.mmdbot.utilities.database.dao.PersistedRoles;
+import com.mcmoddev.mmdbot.utilities.database.dao.Quotes;
+import com.mcmoddev.mmdbot.utilities.database.dao.Tricks;
 import com.mcmoddev.mmdbot.utilities.database.dao.UserFirstJoins;
+import com.mcmoddev.mmdbot.utilities.quotes.Quote;
+import com.mcmoddev.mmdbot.utilities.quotes.QuoteList;
+import com.mcmoddev.mmdbot.utilities.tricks.Trick;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -91,6 +96,14 @@ public final class JSONDataMigrator {
      * The name of the JSON file that contains the sticky roles data.
      */
     public static final String STICKY_ROLES_FILE_PATH = "mmdbot_sticky_roles.json";
+    /**
+     * The name of the JSON file that contains the tricks data.
+     */
+    public static final String TRICKS_FILE_PATH = "mmdbot_tricks.json";
+    /**
+     * The name of the JSON file that contains the quotes data.
+     */
+    public static final String QUOTES_FILE_PATH = "quotes.json";
 
     /**
      * Utility classes should not be constructed.
@@ -157,6 +170,50 @@ public final class JSONDataMigrator {
 
             LOGGER.info("Migrated sticky roles data");
         }
+
+        // Tricks
+        Path tricksFile = Path.of(TRICKS_FILE_PATH);
+        if (Files.exists(tricksFile) && Files.isRegularFile(tricksFile) && Files.isReadable(tricksFile)) {
+            LOGGER.info("Found JSON file for tricks data, migrating...");
+
+            migrate("tricks", tricksFile, reader -> {
+                final List<Trick> tricks = com.mcmoddev.mmdbot.utilities.tricks.Tricks.readLegacyTricks(reader);
+
+                database.jdbi().useExtension(Tricks.class, t -> t.useTransaction(store ->
+                    tricks.forEach(trick -> {
+                        if (trick.getNames().stream().anyMatch(name -> store.getId(name).isPresent())) {
+                            LOGGER.warn("A trick named {} already exists, skipping...", trick.getNames());
+                        } else {
+                            store.insert(com.mcmoddev.mmdbot.utilities.tricks.Tricks.serialize(trick), trick.getNames());
+                        }
+                    })
+                ));
+            });
+
+            LOGGER.info("Migrated tricks data");
+        }
+
+        // Quotes
+        Path quotesFile = Path.of(QUOTES_FILE_PATH);
+        if (Files.exists(quotesFile) && Files.isRegularFile(quotesFile) && Files.isReadable(quotesFile)) {
+            LOGGER.info("Found JSON file for quotes data, migrating...");
+
+            migrate("quotes", quotesFile, reader -> {
+                final List<Quote> quotes = QuoteList.readLegacyQuotes(reader);
+
+                database.jdbi().useExtension(Quotes.class, q -> q.useTransaction(store ->
+                    quotes.forEach(quote -> {
+                        if (store.get(quote.getID()).isPresent()) {
+                            LOGGER.warn("A quote with the ID {} already exists, skipping...", quote.getID());
+                        } else {
+                            store.insert(QuoteList.serialize(quote));
+                        }
+                    })
+                ));
+            });
+
+            LOGGER.info("Migrated quotes data");
+        }
     }
 
     /**
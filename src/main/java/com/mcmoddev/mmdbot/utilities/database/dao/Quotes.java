@@ -0,0 +1,117 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.database.dao;
+
+import org.jdbi.v3.core.mapper.reflect.ColumnName;
+import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.customizer.BindMethods;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.jdbi.v3.sqlobject.transaction.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Data access object for the quotes table. <br>
+ * The ID of a quote is the primary key of its row, so inserting, fetching and deleting a quote only touches that
+ * row. Deleting a quote leaves a gap in the IDs.
+ */
+public interface Quotes extends Transactional<Quotes> {
+
+    /// Insertion methods ///
+
+    @SqlUpdate("insert into quotes values (:id, :type, :content, :quoteeType, :quoteeId, :quoteeText, :creatorType, :creatorId, :creatorText)")
+    void insert(@BindMethods QuoteData quote);
+
+    /// Query methods ///
+
+    @SqlQuery("select * from quotes where id = :id")
+    @RegisterConstructorMapper(QuoteData.class)
+    Optional<QuoteData> get(@Bind("id") int id);
+
+    @SqlQuery("select * from quotes order by id")
+    @RegisterConstructorMapper(QuoteData.class)
+    List<QuoteData> getAll();
+
+    /**
+     * Searches the quotes, using the full-text index of their content, quotee and creator texts.
+     *
+     * @param query  the FTS5 query
+     * @param quotee the snowflake of the user the quotes must be quoting, or {@code 0} for any quotee
+     * @param limit  the maximum amount of quotes
+     * @param offset the amount of best matching quotes to skip
+     * @return the IDs of the matching quotes, from the best match to the worst one
+     */
+    @SqlQuery("""
+        select quotes.id from quotes_fts join quotes on quotes.id = quotes_fts.rowid
+        where quotes_fts match :query and (:quotee = 0 or quotes.quotee_id = :quotee)
+        order by quotes_fts.rank limit :limit offset :offset""")
+    List<Integer> search(@Bind("query") String query, @Bind("quotee") long quotee,
+                         @Bind("limit") int limit, @Bind("offset") int offset);
+
+    /**
+     * Counts the quotes {@linkplain #search(String, long, int, int) matching a search}.
+     *
+     * @param query  the FTS5 query
+     * @param quotee the snowflake of the user the quotes must be quoting, or {@code 0} for any quotee
+     * @return the amount of matching quotes
+     */
+    @SqlQuery("""
+        select count(*) from quotes_fts join quotes on quotes.id = quotes_fts.rowid
+        where quotes_fts match :query and (:quotee = 0 or quotes.quotee_id = :quotee)""")
+    int countMatches(@Bind("query") String query, @Bind("quotee") long quotee);
+
+    /// Deletion methods ///
+
+    /**
+     * Deletes a quote.
+     *
+     * @param id the ID of the quote
+     * @return the amount of deleted quotes
+     */
+    @SqlUpdate("delete from quotes where id = :id")
+    int delete(@Bind("id") int id);
+
+    /**
+     * The stored data of a quote. <br>
+     * The quotee and the creator are stored as the fields of their
+     * {@link com.mcmoddev.mmdbot.utilities.quotes.UserReference}: the name of the reference type, the snowflake
+     * and the text.
+     *
+     * @param id          the ID of the quote
+     * @param type        the type of the quote
+     * @param content     the quoted content
+     * @param quoteeType  the reference type of the quotee
+     * @param quoteeId    the snowflake of the quotee
+     * @param quoteeText  the text of the quotee
+     * @param creatorType the reference type of the creator
+     * @param creatorId   the snowflake of the creator
+     * @param creatorText the text of the creator
+     */
+    record QuoteData(@ColumnName("id") int id, @ColumnName("type") String type,
+                     @ColumnName("content") String content, @ColumnName("quotee_type") String quoteeType,
+                     @ColumnName("quotee_id") long quoteeId, @ColumnName("quotee_text") String quoteeText,
+                     @ColumnName("creator_type") String creatorType, @ColumnName("creator_id") long creatorId,
+                     @ColumnName("creator_text") String creatorText) {
+    }
+}
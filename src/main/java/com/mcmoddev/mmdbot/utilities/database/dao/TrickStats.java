@@ -0,0 +1,77 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.database.dao;
+
+import org.jdbi.v3.core.mapper.reflect.ColumnName;
+import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.customizer.BindMethods;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.jdbi.v3.sqlobject.transaction.Transactional;
+
+import javax.annotation.Nullable;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Data access object for the usage statistics of the tricks, keyed by the main name of the trick. <br>
+ * The latencies are stored in nanoseconds.
+ */
+public interface TrickStats extends Transactional<TrickStats> {
+
+    /// Insertion methods ///
+
+    /**
+     * Inserts the statistics of tricks, replacing the previously stored statistics.
+     *
+     * @param stats the statistics
+     */
+    @SqlBatch("insert or replace into trick_stats values (:name, :invocations, :failures, :p50, :p99, :lastUsed)")
+    void insert(@BindMethods Iterable<Stats> stats);
+
+    /// Query methods ///
+
+    @SqlQuery("select * from trick_stats")
+    @RegisterConstructorMapper(Stats.class)
+    List<Stats> getAll();
+
+    /// Deletion methods ///
+
+    @SqlUpdate("delete from trick_stats where name = :name")
+    void delete(@Bind("name") String name);
+
+    /**
+     * The stored statistics of a trick.
+     *
+     * @param name        the main name of the trick
+     * @param invocations the amount of times the trick was executed
+     * @param failures    the amount of executions which failed
+     * @param p50         the median execution time, in nanoseconds
+     * @param p99         the 99th percentile of the execution time, in nanoseconds
+     * @param lastUsed    the time the trick was last executed at
+     */
+    record Stats(@ColumnName("name") String name, @ColumnName("invocations") long invocations,
+                 @ColumnName("failures") long failures, @ColumnName("p50") long p50, @ColumnName("p99") long p99,
+                 @Nullable @ColumnName("last_used") Instant lastUsed) {
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.database.dao;
+
+import org.jdbi.v3.core.mapper.reflect.ColumnName;
+import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.jdbi.v3.sqlobject.transaction.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Data access object for the tricks tables. <br>
+ * A trick is stored as the name of its type and its serialized data, and each of its names is stored in the
+ * {@code trick_names} table, which is indexed by name.
+ */
+public interface Tricks extends Transactional<Tricks> {
+
+    /// Insertion methods ///
+
+    @SqlUpdate("insert into tricks (type, data) values (:type, :data)")
+    void insertTrick(@Bind("type") String type, @Bind("data") String data);
+
+    @SqlUpdate("insert into trick_names values (:name, :trick)")
+    void insertName(@Bind("name") String name, @Bind("trick") int trickId);
+
+    @SqlQuery("select last_insert_rowid()")
+    int getLastInsertedId();
+
+    /**
+     * Inserts a trick. Should be called in a transaction, as the trick and its names are inserted separately.
+     *
+     * @param type  the name of the type of the trick
+     * @param data  the serialized data of the trick
+     * @param names the names of the trick. Duplicate names are only inserted once
+     * @return the ID of the inserted trick
+     */
+    default int insert(String type, String data, List<String> names) {
+        insertTrick(type, data);
+        final var id = getLastInsertedId();
+        names.stream().distinct().forEach(name -> insertName(name, id));
+        return id;
+    }
+
+    /**
+     * Inserts a trick. Should be called in a transaction.
+     *
+     * @param data  the stored data of the trick
+     * @param names the names of the trick
+     * @return the ID of the inserted trick
+     */
+    default int insert(TrickData data, List<String> names) {
+        return insert(data.type(), data.data(), names);
+    }
+
+    /// Query methods ///
+
+    @SqlQuery("select trick_id from trick_names where name = :name")
+    Optional<Integer> getId(@Bind("name") String name);
+
+    @SqlQuery("select type, data from tricks order by id")
+    @RegisterConstructorMapper(TrickData.class)
+    List<TrickData> getAll();
+
+    /// Deletion methods ///
+
+    @SqlUpdate("delete from trick_names where trick_id = :id")
+    void deleteNames(@Bind("id") int trickId);
+
+    @SqlUpdate("delete from tricks where id = :id")
+    void deleteTrick(@Bind("id") int trickId);
+
+    /**
+     * Deletes the trick with the given name, and all its names. Should be called in a transaction.
+     *
+     * @param name a name of the trick
+     */
+    default void delete(String name) {
+        getId(name).ifPresent(id -> {
+            deleteNames(id);
+            deleteTrick(id);
+        });
+    }
+
+    /**
+     * The stored data of a trick.
+     *
+     * @param type the name of the type of the trick
+     * @param data the serialized data of the trick
+     */
+    record TrickData(@ColumnName("type") String type, @ColumnName("data") String data) {
+    }
+}
@@ -20,6 +20,8 @@
  */
 package com.mcmoddev.mmdbot.utilities.database.dao;
 
+import org.jdbi.v3.core.mapper.reflect.ColumnName;
+import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
 import org.jdbi.v3.sqlobject.customizer.Bind;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import org.jdbi.v3.sqlobject.statement.SqlUpdate;
@@ -70,6 +72,42 @@ public interface Warnings extends Transactional<Warnings> {
     @SqlQuery("select warn_id from warnings")
     List<String> getAllWarnings();
 
+    /**
+     * Gets a warning.
+     *
+     * @param warnId the ID of the warning
+     * @return the warning, or an empty optional if it does not exist
+     */
+    @SqlQuery("select * from warnings where warn_id = :id")
+    @RegisterConstructorMapper(WarningDocument.class)
+    Optional<WarningDocument> getWarning(@Bind("id") String warnId);
+
+    /**
+     * Gets all the warnings of a user, from the oldest to the newest.
+     *
+     * @param user  the user
+     * @param guild the guild in which the user was warned
+     * @return the warnings
+     */
+    @SqlQuery("select * from warnings where user_id = :user and guild_id = :guild order by timestamp")
+    @RegisterConstructorMapper(WarningDocument.class)
+    List<WarningDocument> getWarningDocumentsForUser(@Bind("user") long user, @Bind("guild") long guild);
+
+    /**
+     * Gets the warnings whose ID starts with a prefix.
+     *
+     * @param prefix the prefix
+     * @param limit  the maximum amount of warnings
+     * @return the warnings, sorted by ID
+     */
+    // A range instead of a like, so that the warn_id index is used. char(1114111) is the last code point.
+    // warn_id has numeric affinity, so a numeric prefix is converted to a number when compared with it, which widens
+    // the range to every ID sorting after that number. The substr check filters the range back to the actual prefix
+    @SqlQuery("select * from warnings where warn_id >= cast(:prefix as text) and warn_id < cast(:prefix as text) || char(1114111)"
+        + " and substr(warn_id, 1, length(:prefix)) = cast(:prefix as text) order by warn_id limit :limit")
+    @RegisterConstructorMapper(WarningDocument.class)
+    List<WarningDocument> getWarningsStartingWith(@Bind("prefix") String prefix, @Bind("limit") int limit);
+
     @SqlQuery("select user_id from warnings where warn_id = :id")
     long getUser(@Bind("id") String warnId);
 
@@ -101,18 +139,11 @@ public interface Warnings extends Transactional<Warnings> {
     void deleteById(@Bind("id") String warnId);
 
     default WarningDocument getWarningDocument(final String warnId) {
-        if (!warningExists(warnId)) {
-            return null;
-        }
-        final var userId = getUser(warnId);
-        final long guildId = getGuild(warnId);
-        final var reason = getReason(warnId);
-        final var moderator = getModerator(warnId);
-        final var timestamp = getTimestamp(warnId);
-        return new WarningDocument(userId, guildId, warnId, reason, moderator, timestamp);
+        return getWarning(warnId).orElse(null);
     }
 
-    record WarningDocument(long userId, long guildId, String warnId, String reason, long moderatorId,
-                           Instant timestamp) {
+    record WarningDocument(@ColumnName("user_id") long userId, @ColumnName("guild_id") long guildId,
+                           @ColumnName("warn_id") String warnId, @ColumnName("reason") String reason,
+                           @ColumnName("moderator") long moderatorId, @ColumnName("timestamp") Instant timestamp) {
     }
 }
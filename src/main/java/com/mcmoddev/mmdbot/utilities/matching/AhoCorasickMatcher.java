@@ -0,0 +1,298 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.matching;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An immutable <a href="https://en.wikipedia.org/wiki/Aho%E2%80%93Corasick_algorithm">Aho-Corasick</a> automaton,
+ * which finds whether a text contains any of a set of patterns in a single pass over the text, no matter
+ * the amount of patterns. <br>
+ * Matching is case-insensitive for ASCII letters, and is thread-safe, as the automaton is never modified
+ * once {@linkplain #compile(Collection) compiled}.
+ * <p>
+ * The automaton is stored in flat arrays: the children of each node are stored contiguously, sorted by their
+ * character, so that a transition is a binary search over the (usually very few) children of a node.
+ */
+public final class AhoCorasickMatcher {
+
+    /**
+     * A matcher without any patterns, which never matches.
+     */
+    public static final AhoCorasickMatcher EMPTY = compile(List.of());
+
+    private static final int ROOT = 0;
+
+    /**
+     * The index of the first child of each node in {@link #childChars} and {@link #childNodes}.
+     * The children of node {@code n} are in the range {@code [childStart[n], childStart[n + 1])}.
+     */
+    private final int[] childStart;
+    private final char[] childChars;
+    private final int[] childNodes;
+
+    /**
+     * The node of the longest proper suffix of each node which is also in the trie.
+     */
+    private final int[] fail;
+
+    /**
+     * The length of the longest pattern ending at each node, including the ones found through the fail links,
+     * or {@code 0} if no pattern ends there.
+     */
+    private final int[] matchLength;
+
+    /**
+     * The length of the pattern ending exactly at each node, or {@code 0} if no pattern ends there.
+     */
+    private final int[] patternLength;
+
+    /**
+     * The nearest node reachable through the fail links of each node at which a pattern ends, or {@code -1}.
+     */
+    private final int[] outputLink;
+
+    private final int patternCount;
+
+    private AhoCorasickMatcher(final int[] childStart, final char[] childChars, final int[] childNodes, final int[] fail,
+                               final int[] matchLength, final int[] patternLength, final int[] outputLink,
+                               final int patternCount) {
+        this.childStart = childStart;
+        this.childChars = childChars;
+        this.childNodes = childNodes;
+        this.fail = fail;
+        this.matchLength = matchLength;
+        this.patternLength = patternLength;
+        this.outputLink = outputLink;
+        this.patternCount = patternCount;
+    }
+
+    /**
+     * Compiles a matcher for the specified patterns. Empty patterns are ignored.
+     *
+     * @param patterns the patterns to match
+     * @return the matcher
+     */
+    public static AhoCorasickMatcher compile(final Collection<String> patterns) {
+        // Build a mutable trie first
+        final var root = new Node();
+        int patternCount = 0;
+        for (final var pattern : patterns) {
+            if (pattern.isEmpty()) {
+                continue;
+            }
+            var node = root;
+            for (int i = 0; i < pattern.length(); i++) {
+                node = node.children.computeIfAbsent(lowerCase(pattern.charAt(i)), k -> new Node());
+            }
+            if (node.length == 0) {
+                patternCount++;
+            }
+            node.length = pattern.length();
+        }
+
+        // Number the nodes in breadth-first order, so that the fail node of each node is numbered before it
+        final List<Node> nodes = new ArrayList<>();
+        final var queue = new ArrayDeque<Node>();
+        root.fail = root;
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            final var node = queue.poll();
+            node.index = nodes.size();
+            nodes.add(node);
+            for (final var entry : node.children.entrySet()) {
+                final var child = entry.getValue();
+                if (node == root) {
+                    child.fail = root;
+                } else {
+                    var candidate = node.fail;
+                    while (candidate != root && !candidate.children.containsKey(entry.getKey())) {
+                        candidate = candidate.fail;
+                    }
+                    child.fail = candidate.children.getOrDefault(entry.getKey(), root);
+                }
+                queue.add(child);
+            }
+        }
+
+        // Flatten the trie
+        final int size = nodes.size();
+        final int[] childStart = new int[size + 1];
+        final char[] childChars = new char[size - 1];
+        final int[] childNodes = new int[size - 1];
+        final int[] fail = new int[size];
+        final int[] matchLength = new int[size];
+        final int[] patternLength = new int[size];
+        final int[] outputLink = new int[size];
+        int edge = 0;
+        for (final var node : nodes) {
+            childStart[node.index] = edge;
+            for (final var entry : node.children.entrySet()) {
+                childChars[edge] = entry.getKey();
+                childNodes[edge] = entry.getValue().index;
+                edge++;
+            }
+            fail[node.index] = node.fail.index;
+            patternLength[node.index] = node.length;
+            // The fail node has a lower index, so its match length and output link are already computed
+            matchLength[node.index] = node.length != 0 ? node.length : matchLength[node.fail.index];
+            if (node == root) {
+                outputLink[node.index] = -1;
+            } else {
+                outputLink[node.index] = node.fail.length != 0 ? node.fail.index : outputLink[node.fail.index];
+            }
+        }
+        childStart[size] = edge;
+        return new AhoCorasickMatcher(childStart, childChars, childNodes, fail, matchLength, patternLength, outputLink,
+            patternCount);
+    }
+
+    /**
+     * Checks if the text contains any of the patterns.
+     *
+     * @param text the text to check
+     * @return if the text contains any of the patterns
+     */
+    public boolean matches(final CharSequence text) {
+        return findEnd(text) >= 0;
+    }
+
+    /**
+     * Checks if the text contains any of the patterns for which the predicate matches. <br>
+     * The predicate is tested with every occurrence of a pattern in the text, until it matches.
+     *
+     * @param text      the text to check
+     * @param predicate the predicate to test the occurrences with
+     * @return if the predicate matched any occurrence
+     */
+    public boolean anyMatch(final CharSequence text, final RangePredicate predicate) {
+        if (patternCount == 0) {
+            return false;
+        }
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            state = next(state, lowerCase(text.charAt(i)));
+            if (matchLength[state] == 0) {
+                continue;
+            }
+            int node = patternLength[state] != 0 ? state : outputLink[state];
+            while (node >= 0) {
+                if (predicate.test(text, i + 1 - patternLength[node], i + 1)) {
+                    return true;
+                }
+                node = outputLink[node];
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the first pattern the text contains. If several patterns end at the same position, the longest
+     * one is returned.
+     *
+     * @param text the text to search
+     * @return the found pattern, as contained in the text, or {@code null} if the text contains none of the patterns
+     */
+    @Nullable
+    public String find(final CharSequence text) {
+        final int end = findEnd(text);
+        if (end < 0) {
+            return null;
+        }
+        return text.subSequence(end - matchLength[state(text, end)], end).toString();
+    }
+
+    /**
+     * {@return the amount of distinct patterns of this matcher}
+     */
+    public int getPatternCount() {
+        return patternCount;
+    }
+
+    private int findEnd(final CharSequence text) {
+        if (patternCount == 0) {
+            return -1;
+        }
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            state = next(state, lowerCase(text.charAt(i)));
+            if (matchLength[state] != 0) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private int state(final CharSequence text, final int end) {
+        int state = ROOT;
+        for (int i = 0; i < end; i++) {
+            state = next(state, lowerCase(text.charAt(i)));
+        }
+        return state;
+    }
+
+    private int next(int state, final char c) {
+        while (true) {
+            final int child = child(state, c);
+            if (child >= 0) {
+                return child;
+            }
+            if (state == ROOT) {
+                return ROOT;
+            }
+            state = fail[state];
+        }
+    }
+
+    private int child(final int node, final char c) {
+        int low = childStart[node];
+        int high = childStart[node + 1] - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final char midChar = childChars[mid];
+            if (midChar < c) {
+                low = mid + 1;
+            } else if (midChar > c) {
+                high = mid - 1;
+            } else {
+                return childNodes[mid];
+            }
+        }
+        return -1;
+    }
+
+    private static char lowerCase(final char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new TreeMap<>();
+        private Node fail;
+        private int length;
+        private int index;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.matching;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * An immutable set of domains, backed by an open-addressing hash table. <br>
+ * Lookups are done over a range of a {@link CharSequence}, ignoring ASCII case, so that hosts found in a message
+ * can be checked without creating a string for each of them.
+ */
+public final class DomainSet {
+
+    /**
+     * A set without any domains.
+     */
+    public static final DomainSet EMPTY = of(List.of());
+
+    private final String[] keys;
+    private final int[] hashes;
+    private final int mask;
+    private final int size;
+
+    private DomainSet(final String[] keys, final int[] hashes, final int size) {
+        this.keys = keys;
+        this.hashes = hashes;
+        this.mask = keys.length - 1;
+        this.size = size;
+    }
+
+    /**
+     * Creates a set containing the specified domains. The domains are lowercased, and their {@code www.} prefix is
+     * removed, as it is for the hosts found by {@link HostScanner#anyHostMatches(CharSequence, RangePredicate)}.
+     *
+     * @param domains the domains
+     * @return the set
+     */
+    public static DomainSet of(final Collection<String> domains) {
+        // Keep the load factor under 0.5, so that probe sequences stay short
+        final int capacity = Math.max(2, Integer.highestOneBit(Math.max(1, domains.size()) * 2 - 1) << 1);
+        final var keys = new String[capacity];
+        final var hashes = new int[capacity];
+        int size = 0;
+        for (final var domain : domains) {
+            final var key = HostScanner.stripWww(domain.toLowerCase(Locale.ROOT));
+            final int hash = hash(key, 0, key.length());
+            int slot = hash & (capacity - 1);
+            while (keys[slot] != null && !(hashes[slot] == hash && keys[slot].equals(key))) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            if (keys[slot] == null) {
+                keys[slot] = key;
+                hashes[slot] = hash;
+                size++;
+            }
+        }
+        return new DomainSet(keys, hashes, size);
+    }
+
+    /**
+     * Checks if the range of the text is in this set.
+     *
+     * @param text  the text
+     * @param start the start of the range, inclusive
+     * @param end   the end of the range, exclusive
+     * @return if the range is in this set
+     */
+    public boolean contains(final CharSequence text, final int start, final int end) {
+        final int hash = hash(text, start, end);
+        int slot = hash & mask;
+        String key;
+        while ((key = keys[slot]) != null) {
+            if (hashes[slot] == hash && regionMatches(key, text, start, end)) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Checks if the host in the range of the text, or any of its parent domains, is in this set. <br>
+     * Top level domains are never checked on their own.
+     *
+     * @param text  the text
+     * @param start the start of the host, inclusive
+     * @param end   the end of the host, exclusive
+     * @return if the host or any of its parents is in this set
+     * @see HostScanner#testHostAndParents(CharSequence, int, int, RangePredicate)
+     */
+    public boolean containsHostOrParent(final CharSequence text, final int start, final int end) {
+        return size != 0 && HostScanner.testHostAndParents(text, start, end, this::contains);
+    }
+
+    /**
+     * {@return the amount of domains in this set}
+     */
+    public int size() {
+        return size;
+    }
+
+    private static boolean regionMatches(final String key, final CharSequence text, final int start, final int end) {
+        if (key.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) != lowerCase(text.charAt(start + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(final CharSequence text, final int start, final int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + lowerCase(text.charAt(i));
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static char lowerCase(final char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+}
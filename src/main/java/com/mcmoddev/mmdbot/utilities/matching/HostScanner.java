@@ -0,0 +1,188 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.matching;
+
+import java.net.IDN;
+import java.util.Locale;
+
+/**
+ * Finds the hosts of the links contained in a text. <br>
+ * A host is any run of host characters (letters, digits, dots and hyphens) containing a dot which is not at
+ * its edges, so both {@code https://example.com/path} and a bare {@code example.com} are found. The scan does not
+ * allocate, unless a host contains non-ASCII characters, in which case it is converted to punycode.
+ * <p>
+ * Found hosts are normalised before being tested: they are lowercased, converted to punycode, and their
+ * {@code www.} prefix is removed.
+ */
+public final class HostScanner {
+
+    private HostScanner() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Checks if any of the hosts found in the text matches the predicate.
+     *
+     * @param text      the text to scan
+     * @param predicate the predicate to test the hosts with
+     * @return if any host matched
+     */
+    public static boolean anyHostMatches(final CharSequence text, final RangePredicate predicate) {
+        final int length = text.length();
+        int i = 0;
+        while (i < length) {
+            // Skip to the start of the next run
+            while (i < length && !isHostChar(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            boolean ascii = true;
+            while (i < length && isHostChar(text.charAt(i))) {
+                if (text.charAt(i) >= 0x80) {
+                    ascii = false;
+                }
+                i++;
+            }
+            int end = i;
+            // Trim separators, such as the dot ending a sentence
+            while (start < end && isSeparator(text.charAt(start))) {
+                start++;
+            }
+            while (end > start && isSeparator(text.charAt(end - 1))) {
+                end--;
+            }
+            if (!ascii) {
+                // Words without any dot cannot be domains, so avoid converting them (IDN conversion is costly)
+                if (containsAnyDot(text, start, end) && testNonAscii(text.subSequence(start, end).toString(), predicate)) {
+                    return true;
+                }
+            } else if (containsDot(text, start, end)) {
+                if (startsWithWww(text, start, end)) {
+                    start += 4;
+                }
+                if (predicate.test(text, start, end)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if the host in the range of the text, or any of its parent domains, matches the predicate. <br>
+     * For instance, for {@code login.evil.example.com}, {@code evil.example.com} and {@code example.com} are tested too.
+     * Top level domains are never tested on their own, and neither are hosts without a dot.
+     *
+     * @param text      the text
+     * @param start     the start of the host, inclusive
+     * @param end       the end of the host, exclusive
+     * @param predicate the predicate to test the domains with
+     * @return if the host or any of its parents matched
+     */
+    public static boolean testHostAndParents(final CharSequence text, final int start, final int end,
+                                             final RangePredicate predicate) {
+        int lastDot = -1;
+        for (int i = end - 1; i >= start; i--) {
+            if (text.charAt(i) == '.') {
+                lastDot = i;
+                break;
+            }
+        }
+        if (lastDot < 0) {
+            return false;
+        }
+        if (predicate.test(text, start, end)) {
+            return true;
+        }
+        for (int i = start; i < lastDot; i++) {
+            if (text.charAt(i) == '.' && predicate.test(text, i + 1, end)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean testNonAscii(final String host, final RangePredicate predicate) {
+        final String ascii;
+        try {
+            ascii = IDN.toASCII(host, IDN.ALLOW_UNASSIGNED).toLowerCase(Locale.ROOT);
+        } catch (IllegalArgumentException e) {
+            // Not a valid domain name
+            return false;
+        }
+        if (!containsDot(ascii, 0, ascii.length())) {
+            return false;
+        }
+        return predicate.test(ascii, startsWithWww(ascii, 0, ascii.length()) ? 4 : 0, ascii.length());
+    }
+
+    private static boolean containsDot(final CharSequence text, final int start, final int end) {
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) == '.') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsAnyDot(final CharSequence text, final int start, final int end) {
+        for (int i = start; i < end; i++) {
+            final char c = text.charAt(i);
+            if (c == '.' || isIdeographicDot(c)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes the {@code www.} prefix of a host, if it has one.
+     *
+     * @param host the host
+     * @return the host without its prefix
+     */
+    static String stripWww(final String host) {
+        return startsWithWww(host, 0, host.length()) ? host.substring(4) : host;
+    }
+
+    private static boolean startsWithWww(final CharSequence text, final int start, final int end) {
+        return end - start > 4 && (text.charAt(start) | 0x20) == 'w' && (text.charAt(start + 1) | 0x20) == 'w'
+            && (text.charAt(start + 2) | 0x20) == 'w' && text.charAt(start + 3) == '.';
+    }
+
+    private static boolean isSeparator(final char c) {
+        return c == '.' || c == '-' || isIdeographicDot(c);
+    }
+
+    private static boolean isHostChar(final char c) {
+        if (c < 0x80) {
+            return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '.' || c == '-';
+        }
+        return Character.isLetterOrDigit(c) || isIdeographicDot(c);
+    }
+
+    /**
+     * Checks if the character is one of the dots which {@link IDN} treats as label separators.
+     */
+    private static boolean isIdeographicDot(final char c) {
+        return c == '\u3002' || c == '\uFF0E' || c == '\uFF61';
+    }
+}
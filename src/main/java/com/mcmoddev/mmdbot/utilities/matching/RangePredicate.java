@@ -0,0 +1,38 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.matching;
+
+/**
+ * A predicate over a range of a {@link CharSequence}, used to test parts of a text without creating a string for them.
+ */
+@FunctionalInterface
+public interface RangePredicate {
+
+    /**
+     * Tests a range of the text. The range may contain upper case ASCII letters, which should be ignored.
+     *
+     * @param text  the text containing the range
+     * @param start the start of the range, inclusive
+     * @param end   the end of the range, exclusive
+     * @return if the range matches
+     */
+    boolean test(CharSequence text, int start, int end);
+}
@@ -0,0 +1,69 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.metrics;
+
+import com.mcmoddev.mmdbot.MMDBot;
+import com.mcmoddev.mmdbot.utilities.persistence.DebouncedFileWriter;
+import com.mcmoddev.mmdbot.utilities.threading.ListenerGroup;
+
+import java.util.Comparator;
+import java.util.stream.Collectors;
+
+/**
+ * Creates reports of the state of the event pipeline: the queue depth of each {@link ListenerGroup}, and the
+ * {@link ListenerMetrics metrics} of each listener. <br>
+ * The write latencies of the {@linkplain DebouncedFileWriter file stores} are reported as well.
+ */
+public final class EventPipelineReport {
+
+    private EventPipelineReport() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Creates a report. <br>
+     * Listeners are sorted by their 99th percentile execution time, so that the slowest ones come first.
+     *
+     * @return the report
+     */
+    public static String create() {
+        final var queues = ListenerGroup.getGroups().stream()
+            .map(ListenerGroup::getQueue)
+            .map(queue -> "%s: %s pending, %s dropped".formatted(queue.getName(), queue.getPending(), queue.getDropped()))
+            .collect(Collectors.joining("\n"));
+        final var listeners = ListenerMetrics.getAll().stream()
+            .sorted(Comparator.comparing((ListenerMetrics m) -> m.getExecutionTime().getPercentile(99)).reversed())
+            .map(ListenerMetrics::format)
+            .collect(Collectors.joining("\n"));
+        final var stores = DebouncedFileWriter.getAll().stream()
+            .map(DebouncedFileWriter::format)
+            .collect(Collectors.joining("\n"));
+        return "Queues:\n" + queues + "\n\nListeners:\n" + (listeners.isEmpty() ? "No events handled yet." : listeners)
+            + (stores.isEmpty() ? "" : "\n\nFile stores:\n" + stores);
+    }
+
+    /**
+     * Logs a report.
+     */
+    public static void log() {
+        MMDBot.LOGGER.info("Event pipeline metrics:\n{}", create());
+    }
+}
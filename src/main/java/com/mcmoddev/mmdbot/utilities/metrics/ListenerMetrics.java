@@ -0,0 +1,148 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.metrics;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics of the event listeners of a class, recorded by the
+ * {@link com.mcmoddev.mmdbot.utilities.ThreadedEventListener}.
+ */
+public final class ListenerMetrics {
+
+    private static final Map<Class<?>, ListenerMetrics> METRICS = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final LatencyHistogram waitTime = new LatencyHistogram();
+    private final LatencyHistogram executionTime = new LatencyHistogram();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder exceptions = new LongAdder();
+
+    private ListenerMetrics(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the metrics of the listeners of the specified class.
+     *
+     * @param listenerClass the class of the listeners
+     * @return the metrics
+     */
+    public static ListenerMetrics of(final Class<?> listenerClass) {
+        return METRICS.computeIfAbsent(listenerClass, k -> new ListenerMetrics(k.getSimpleName().isEmpty()
+            ? k.getName() : k.getSimpleName()));
+    }
+
+    /**
+     * {@return the metrics of all the listeners which received events}
+     */
+    public static Collection<ListenerMetrics> getAll() {
+        return List.copyOf(METRICS.values());
+    }
+
+    /**
+     * Records that an event started being handled.
+     *
+     * @param waitNanos the time the event waited between being dispatched and being handled, in nanoseconds
+     */
+    public void started(final long waitNanos) {
+        waitTime.record(waitNanos);
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * Records that an event finished being handled.
+     *
+     * @param executionNanos the time the event took to be handled, in nanoseconds
+     * @param failed         if the listener threw an exception
+     */
+    public void finished(final long executionNanos, final boolean failed) {
+        inFlight.decrementAndGet();
+        executionTime.record(executionNanos);
+        if (failed) {
+            exceptions.increment();
+        }
+    }
+
+    /**
+     * {@return the name of the listener class}
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * {@return the histogram of the time events waited between being dispatched and being handled}
+     */
+    public LatencyHistogram getWaitTime() {
+        return waitTime;
+    }
+
+    /**
+     * {@return the histogram of the time events took to be handled}
+     */
+    public LatencyHistogram getExecutionTime() {
+        return executionTime;
+    }
+
+    /**
+     * {@return the amount of events currently being handled}
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * {@return the amount of events whose handling threw an exception}
+     */
+    public long getExceptions() {
+        return exceptions.sum();
+    }
+
+    /**
+     * Formats these metrics on a single line.
+     *
+     * @return the formatted metrics
+     */
+    public String format() {
+        return "%s: %s handled, %s in flight, %s failed | wait p50 %s p99 %s | exec p50 %s p99 %s max %s".formatted(
+            name, executionTime.getCount(), getInFlight(), getExceptions(),
+            format(waitTime.getPercentile(50)), format(waitTime.getPercentile(99)),
+            format(executionTime.getPercentile(50)), format(executionTime.getPercentile(99)),
+            format(executionTime.getMax()));
+    }
+
+    /**
+     * Formats a duration in milliseconds, with a precision of a microsecond.
+     *
+     * @param duration the duration to format
+     * @return the formatted duration
+     */
+    public static String format(final Duration duration) {
+        return "%.3fms".formatted(duration.toNanos() / 1_000_000d);
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ *
+ */
+package com.mcmoddev.mmdbot.utilities.metrics;
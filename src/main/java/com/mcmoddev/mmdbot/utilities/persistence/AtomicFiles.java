@@ -0,0 +1,119 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.persistence;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.SecureRandom;
+
+/**
+ * Writes files atomically: the content is written to a temporary file next to the target, which is flushed to the
+ * disk and then renamed over the target. <br>
+ * A crash or a failed write therefore leaves either the old or the new content, never a truncated file, and readers
+ * never see a partially written file.
+ */
+public final class AtomicFiles {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private AtomicFiles() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Atomically replaces the content of a file.
+     *
+     * @param path    the file
+     * @param content the writer of the content. The writer it is given is buffered and encodes in UTF-8
+     * @throws IOException if the content could not be written. The file is then left untouched
+     */
+    public static void write(final Path path, final ContentWriter content) throws IOException {
+        final var target = path.toAbsolutePath();
+        final var directory = target.getParent();
+        // The temporary file must be on the same file system as the target, for the rename to be atomic.
+        // It is not created using Files#createTempFile, as that makes it only readable by the owner, and the target
+        // would then lose its permissions once it is replaced
+        final var temp = directory.resolve(target.getFileName() + "." + Long.toUnsignedString(RANDOM.nextLong(), 36) + ".tmp");
+        try {
+            try (var channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                copyPermissions(target, temp);
+                final Writer writer = Channels.newWriter(channel, StandardCharsets.UTF_8);
+                content.write(writer);
+                writer.flush();
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        syncDirectory(directory);
+    }
+
+    /**
+     * Copies the POSIX permissions of a file to another one, if the file exists and the file system supports them.
+     */
+    private static void copyPermissions(final Path from, final Path to) throws IOException {
+        try {
+            Files.setPosixFilePermissions(to, Files.getPosixFilePermissions(from));
+        } catch (final NoSuchFileException | UnsupportedOperationException ignored) {
+        }
+    }
+
+    /**
+     * Flushes a directory to the disk, so that a rename in it survives a crash. <br>
+     * Not all platforms can open directories (such as Windows), in which case the rename is durable once the file
+     * system flushes it on its own.
+     */
+    private static void syncDirectory(final Path directory) {
+        try (var channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (final IOException | UnsupportedOperationException ignored) {
+        }
+    }
+
+    /**
+     * Writes the content of a file.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+
+        /**
+         * Writes the content.
+         *
+         * @param writer the writer of the file. Must not be closed
+         * @throws IOException if the content could not be written
+         */
+        void write(Writer writer) throws IOException;
+    }
+}
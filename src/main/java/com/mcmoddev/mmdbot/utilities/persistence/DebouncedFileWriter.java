@@ -0,0 +1,163 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.persistence;
+
+import com.mcmoddev.mmdbot.MMDBot;
+import com.mcmoddev.mmdbot.utilities.Utils;
+import com.mcmoddev.mmdbot.utilities.metrics.LatencyHistogram;
+import com.mcmoddev.mmdbot.utilities.metrics.ListenerMetrics;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Persists a store to a file in the background. <br>
+ * Changes {@linkplain #schedule() schedule} a write, which happens after a delay on the writer thread, so that the
+ * threads changing the store (such as commands) never block on the disk, and a burst of changes is coalesced into a
+ * single write. The content is rendered when the write happens, so it is always the latest state of the store. <br>
+ * Files are written {@linkplain AtomicFiles atomically}, and pending writes are flushed when the bot shuts down.
+ */
+public final class DebouncedFileWriter {
+
+    /**
+     * The thread writing the files of all stores.
+     */
+    private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(r ->
+        Utils.setThreadDaemon(new Thread(r, "FileWriter"), true));
+
+    /**
+     * All writers, in order to report their metrics and flush them on shutdown.
+     */
+    private static final List<DebouncedFileWriter> WRITERS = new CopyOnWriteArrayList<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DebouncedFileWriter::flushAll, "FileWriterShutdown"));
+    }
+
+    private final String name;
+    private final Path path;
+    private final Duration delay;
+    private final AtomicFiles.ContentWriter content;
+    private final AtomicBoolean pending = new AtomicBoolean();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder failures = new LongAdder();
+
+    /**
+     * Creates a writer.
+     *
+     * @param name    the name of the store, used in logs and metrics
+     * @param path    the file of the store
+     * @param delay   the delay between the first change of a burst and the write
+     * @param content the writer of the content of the file, called on the writer thread
+     */
+    public DebouncedFileWriter(final String name, final Path path, final Duration delay,
+                               final AtomicFiles.ContentWriter content) {
+        this.name = name;
+        this.path = path;
+        this.delay = delay;
+        this.content = content;
+        WRITERS.add(this);
+    }
+
+    /**
+     * Schedules a write of the file, unless one is already pending.
+     */
+    public void schedule() {
+        if (pending.compareAndSet(false, true)) {
+            EXECUTOR.schedule(this::flush, delay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes the file now if a write is pending, on the calling thread.
+     */
+    public void flush() {
+        // Cleared before writing, so that a change made during the write schedules another one
+        if (pending.compareAndSet(true, false)) {
+            write();
+        }
+    }
+
+    private synchronized void write() {
+        final long start = System.nanoTime();
+        try {
+            AtomicFiles.write(path, content);
+        } catch (final Exception e) {
+            failures.increment();
+            MMDBot.LOGGER.error("Could not write the {} file {}!", name, path, e);
+        } finally {
+            latency.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * {@return the name of the store}
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * {@return the durations of the writes of the file}
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * {@return the amount of writes which failed}
+     */
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * Formats the metrics of this writer.
+     *
+     * @return the formatted metrics
+     */
+    public String format() {
+        return "%s: %s written, %s pending, %s failed | write p50 %s p99 %s max %s".formatted(name,
+            latency.getCount(), pending.get() ? 1 : 0, getFailures(), ListenerMetrics.format(latency.getPercentile(50)),
+            ListenerMetrics.format(latency.getPercentile(99)), ListenerMetrics.format(latency.getMax()));
+    }
+
+    /**
+     * {@return all writers}
+     */
+    public static List<DebouncedFileWriter> getAll() {
+        return List.copyOf(WRITERS);
+    }
+
+    /**
+     * Writes the pending files of all writers.
+     */
+    public static void flushAll() {
+        WRITERS.forEach(DebouncedFileWriter::flush);
+    }
+}
@@ -24,7 +24,7 @@ import com.mcmoddev.mmdbot.utilities.scripting.ExposeScripting;
 import net.dv8tion.jda.api.entities.MessageEmbed;
 
 /**
- * Used in place of null in the serialized list of quotes.
+ * Used in place of null in the legacy quotes file, and skipped when it is migrated to the database.
  *
  * @author Curle
  */
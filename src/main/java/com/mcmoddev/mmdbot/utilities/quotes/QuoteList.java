@@ -29,32 +29,33 @@ import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 import com.mcmoddev.mmdbot.MMDBot;
+import com.mcmoddev.mmdbot.utilities.database.dao.Quotes;
+import com.mcmoddev.mmdbot.utilities.database.dao.Quotes.QuoteData;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.entities.MessageEmbed;
 import org.jetbrains.annotations.Nullable;
 
 import java.awt.Color;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
+import java.io.Reader;
 import java.lang.reflect.Type;
-import java.nio.charset.StandardCharsets;
 import java.time.Instant;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 /**
  * The storage container and manager for Quotes.
  * <p>
- * Contains the logic needed to add, remove, read and write the quotes contained within.
+ * Contains the logic needed to add, remove and read the quotes contained within.
  * <p>
- * Most of this code is taken from willbl's Tricks.class file.
- * <p>
- * TODO: Migrate to SQLite.
- * TODO: Fix the mess i made trying to get subclasses to serialize and deserialize.
+ * Quotes are stored in the database, one row per quote, keyed by their ID, so that adding or removing a quote only
+ * writes that quote. They are also cached in memory, sorted by ID, as they are read far more often than written.
  *
  * @author Curle
  */
@@ -64,29 +65,26 @@ public final class QuoteList {
     }
 
     /**
-     * Location to the quote storage file.
-     */
-    private static final String QUOTE_STORAGE = "quotes.json";
-
-    /**
-     * The Gson instance used for serialization and deserialization.
+     * The Gson instance used to read the legacy quotes file.
      */
     private static final Gson GSON = new GsonBuilder()
         .registerTypeAdapterFactory(new QuoteSerializer())
         .create();
 
     /**
-     * The static instance of NullQuote used as the reference for nulls.
-     * Stops the GSON parser from entering an infinite loop.
+     * The name of the type of {@link StringQuote}s in the database.
      */
-    public static final NullQuote NULL = new NullQuote();
+    private static final String STRING_QUOTE_TYPE = "string";
 
     /**
-     * The list of Quote instances held by this container.
-     * Quote metadata ID should sync with the index in this list.
-     * This greatly simplifies access operations.
+     * The pattern matching the characters between the words of a search.
      */
-    private static List<Quote> quotes = null;
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /**
+     * The cache of the stored quotes, keyed and sorted by ID, or null if the quotes are not loaded yet.
+     */
+    private static volatile ConcurrentSkipListMap<Integer, Quote> quotes = null;
 
     /**
      * The message used for when quotes are null, or do not exist.
@@ -99,124 +97,144 @@ public final class QuoteList {
         .build();
 
     /**
-     * Given a numeric ID, fetch the quote at that index, or null.
+     * Given a numeric ID, fetch the quote with that ID, or null.
      *
-     * @param id The index to fetch the quote from.
-     * @return The Quote object at that index.
+     * @param id The ID of the quote to fetch.
+     * @return The Quote object with that ID, or null if it does not exist.
      */
     @Nullable
     public static Quote getQuote(final int id) {
-        if (quotes == null)
-            loadQuotes();
-
-        return quotes.get(id);
+        return quotes().get(id);
     }
 
     /**
-     * Load quotes from file.
-     * <p>
-     * Has minimal error handling.
+     * @return An unmodifiable view of all quotes, sorted by ID.
      */
-    public static void loadQuotes() {
-        if (quotes != null)
-            return;
-
-        final File quoteFile = new File(QUOTE_STORAGE);
-        if (!quoteFile.exists())
-            quotes = new ArrayList<>();
-
-        try (InputStreamReader reader = new InputStreamReader(new FileInputStream(quoteFile), StandardCharsets.UTF_8)) {
-
-            Type listType = new TypeToken<List<Quote>>() {
-            }.getType();
-            quotes = GSON.fromJson(reader, listType);
-
-        } catch (final IOException exception) {
-            MMDBot.LOGGER.trace("Failed to read quote file...", exception);
-            quotes = new ArrayList<>();
-        }
+    public static Collection<Quote> getQuotes() {
+        return Collections.unmodifiableCollection(quotes().values());
     }
 
     /**
-     * Write quotes to disk.
-     * <p>
-     * Has minimal error handling.
+     * Load quotes from the database, if they are not loaded yet.
      */
-    private static void syncQuotes() {
-        final File quoteFile = new File(QUOTE_STORAGE);
-        try (OutputStreamWriter writer =
-                 new OutputStreamWriter(new FileOutputStream(quoteFile), StandardCharsets.UTF_8)) {
-            GSON.toJson(quotes, writer);
-        } catch (Exception exception) {
-            MMDBot.LOGGER.trace("Failed to write quote file...", exception);
+    public static void loadQuotes() {
+        quotes();
+    }
+
+    private static ConcurrentSkipListMap<Integer, Quote> quotes() {
+        var loaded = quotes;
+        if (loaded == null) {
+            synchronized (QuoteList.class) {
+                loaded = quotes;
+                if (loaded == null) {
+                    loaded = new ConcurrentSkipListMap<>();
+                    for (final var data : MMDBot.database().withExtension(Quotes.class, Quotes::getAll)) {
+                        final var quote = deserialize(data);
+                        if (quote != null) {
+                            loaded.put(quote.getID(), quote);
+                        }
+                    }
+                    quotes = loaded;
+                }
+            }
         }
+        return loaded;
     }
 
     /**
-     * Add the specified quote to the list at the specified index.
+     * Add the specified quote to the end of the list, assigning it the {@linkplain #getQuoteSlot() next ID}.
      *
      * @param quote The quote to add.
+     * @return The ID of the quote.
      */
-    public static void addQuote(final Quote quote) {
-        if (quotes == null)
-            loadQuotes();
-
-        quotes.add(quote.getID(), quote);
-        syncQuotes();
+    public static int addQuote(final Quote quote) {
+        synchronized (QuoteList.class) {
+            quote.setID(getQuoteSlot());
+            MMDBot.database().useExtension(Quotes.class, db -> db.insert(serialize(quote)));
+            quotes().put(quote.getID(), quote);
+        }
+        return quote.getID();
     }
 
     /**
      * Removes the specified quote from the list.
-     * If the quote is at the end of the list, it will be replaced with the next addition.
-     * If the quote is at any point before the start of the list, it will cause a null gap.
-     * If the quote is at the start of a null gap and the null gap is at the end of the list, it will close the gap.
-     * If the quote is after the end of the list, it will have no effect.
+     * If the quote is at the end of the list, its ID will be reused by the next addition.
+     * If the quote is at any point before the end of the list, it will leave a gap.
+     * If the quote does not exist, it will have no effect.
      *
      * @param id the ID of the item to remove.
+     * @return If a quote was removed.
      */
-    public static void removeQuote(final int id) {
-        if (quotes == null)
-            loadQuotes();
-
-        quotes.set(id, NULL);
-
-        // Count the number of nulls at the end of the list
-        int index = 0;
-        int nullElements = 0;
-        while (index < quotes.size()) {
-            if (quotes.get(index) != NULL) {
-                nullElements = 0;
-                index++;
-                continue;
+    public static boolean removeQuote(final int id) {
+        synchronized (QuoteList.class) {
+            if (MMDBot.database().withExtension(Quotes.class, db -> db.delete(id)) == 0) {
+                return false;
             }
-
-            nullElements++;
-            index++;
+            quotes().remove(id);
+            return true;
         }
-
-        // Remove extras if necessary
-        if (nullElements > 0)
-            quotes.subList(quotes.size() - nullElements, quotes.size()).clear();
-
-        // Write to disk
-        syncQuotes();
     }
 
     /**
-     * Get the index of the end of the list.
+     * Get the ID following the last quote.
      * Does NOT find any holes before the end of the list.
-     * TODO: Make this fill holes
      * For generating the next Quote ID.
      *
-     * @return The index of the next empty slot in the list.
+     * @return The ID of the next quote.
      */
     public static int getQuoteSlot() {
-        if (quotes == null)
-            loadQuotes();
+        final var loaded = quotes();
+        return loaded.isEmpty() ? 0 : loaded.lastKey() + 1;
+    }
+
+    /**
+     * Search the quotes by their text and the text of their quotee and creator, using the full-text index.
+     * Each word of the text matches the words starting with it, and quotes must match all words.
+     *
+     * @param text   The text to search for.
+     * @param quotee The ID of the user the quotes must be quoting, or 0 for any quotee.
+     * @param offset The amount of best matching quotes to skip.
+     * @param limit  The maximum amount of quotes.
+     * @return The matching quotes, from the best match to the worst one.
+     */
+    public static List<Quote> search(final String text, final long quotee, final int offset, final int limit) {
+        final var query = toSearchQuery(text);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        final var cache = quotes();
+        return MMDBot.database().withExtension(Quotes.class, db -> db.search(query, quotee, limit, offset))
+            .stream()
+            .map(cache::get)
+            .filter(Objects::nonNull)
+            .toList();
+    }
 
-        return quotes.size();
+    /**
+     * Count the quotes matching a {@linkplain #search(String, long, int, int) search}.
+     *
+     * @param text   The text to search for.
+     * @param quotee The ID of the user the quotes must be quoting, or 0 for any quotee.
+     * @return The amount of matching quotes.
+     */
+    public static int countSearchResults(final String text, final long quotee) {
+        final var query = toSearchQuery(text);
+        return query.isEmpty() ? 0 : MMDBot.database().withExtension(Quotes.class, db -> db.countMatches(query, quotee));
     }
 
+    /**
+     * Converts a text to a full-text query matching the words starting with each of its words. <br>
+     * Only letters and digits are kept, so that the text cannot use the query syntax.
+     *
+     * @param text the text
+     * @return the query, or an empty string if the text has no words
+     */
+    static String toSearchQuery(final String text) {
+        return Arrays.stream(NON_WORD.split(text))
+            .filter(word -> !word.isEmpty())
+            .map(word -> '"' + word + "\"*")
+            .collect(Collectors.joining(" "));
+    }
 
     /**
      * @return The message used for when quotes are null, or do not exist.
@@ -225,6 +243,65 @@ public final class QuoteList {
         return QUOTE_NOT_PRESENT;
     }
 
+    /**
+     * Reads the quotes from the legacy JSON quotes file. <br>
+     * The gaps of the file, which are {@link NullQuote}s, are not returned.
+     *
+     * @param reader the reader of the file
+     * @return the quotes
+     */
+    public static List<Quote> readLegacyQuotes(final Reader reader) {
+        final Type listType = new TypeToken<List<Quote>>() {
+        }.getType();
+        final List<Quote> legacyQuotes = GSON.fromJson(reader, listType);
+        if (legacyQuotes == null) {
+            return List.of();
+        }
+        return legacyQuotes.stream().filter(quote -> quote != null && !(quote instanceof NullQuote)).toList();
+    }
+
+    /**
+     * Serializes a quote, in order to store it in the database.
+     *
+     * @param quote the quote
+     * @return the stored data of the quote
+     */
+    public static QuoteData serialize(final Quote quote) {
+        if (!(quote instanceof StringQuote)) {
+            throw new IllegalArgumentException("Unknown quote type: " + quote.getClass());
+        }
+        final var quotee = reference(quote.getQuotee());
+        final var creator = reference(quote.getQuoteAuthor());
+        return new QuoteData(quote.getID(), STRING_QUOTE_TYPE, quote.getQuoteText(),
+            quotee.getReferenceType().getName(), quotee.getSnowflakeData(),
+            Objects.requireNonNullElse(quotee.getStringData(), ""),
+            creator.getReferenceType().getName(), creator.getSnowflakeData(),
+            Objects.requireNonNullElse(creator.getStringData(), ""));
+    }
+
+    @Nullable
+    private static Quote deserialize(final QuoteData data) {
+        if (!STRING_QUOTE_TYPE.equals(data.type())) {
+            MMDBot.LOGGER.warn("Found quote {} of unknown type '{}', skipping...", data.id(), data.type());
+            return null;
+        }
+        final var quote = new StringQuote(reference(data.quoteeType(), data.quoteeId(), data.quoteeText()),
+            data.content(), reference(data.creatorType(), data.creatorId(), data.creatorText()));
+        quote.setID(data.id());
+        return quote;
+    }
+
+    private static UserReference reference(@Nullable final UserReference reference) {
+        return reference == null || reference.getReferenceType() == null ? new UserReference() : reference;
+    }
+
+    private static UserReference reference(final String type, final long snowflake, final String text) {
+        return switch (UserReference.ReferenceType.of(type)) {
+            case SNOWFLAKE -> new UserReference(snowflake);
+            case STRING -> new UserReference(text);
+            case ANONYMOUS -> new UserReference();
+        };
+    }
 
     static final class QuoteSerializer implements TypeAdapterFactory {
 
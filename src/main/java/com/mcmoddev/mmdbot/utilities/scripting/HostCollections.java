@@ -0,0 +1,232 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.scripting;
+
+import net.dv8tion.jda.api.utils.cache.CacheView;
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyArray;
+import org.graalvm.polyglot.proxy.ProxyIterable;
+import org.graalvm.polyglot.proxy.ProxyIterator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Lazy views of host collections exposed to scripts. <br>
+ * The elements of the views are only converted to script objects when a script accesses them, so that a script
+ * iterating over the members of a large guild does not create a proxy for each of them up front, and can stop early.
+ */
+public final class HostCollections {
+
+    private HostCollections() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Creates a lazy array over the elements of a list. An element is converted once, when first accessed.
+     *
+     * @param list   the list
+     * @param mapper the function converting an element to a script object
+     * @param <T>    the type of the elements
+     * @return the array
+     */
+    public static <T> ProxyArray array(final List<T> list, final Function<? super T, Object> mapper) {
+        return array(list.size(), i -> mapper.apply(list.get(i)));
+    }
+
+    /**
+     * Creates a lazy array of elements computed by their index. An element is computed once, when first accessed. <br>
+     * The computed elements are cached in pages of 64 elements, so that accessing a few
+     * elements of a large array does not allocate storage for all of them.
+     *
+     * @param size   the size of the array
+     * @param getter the function computing an element from its index
+     * @return the array
+     */
+    public static ProxyArray array(final int size, final IntFunction<Object> getter) {
+        return new LazyArray(size, getter);
+    }
+
+    /**
+     * Creates a lazy array over a page of the elements of a list, from the arguments of a script function: no
+     * arguments for all the elements, or the offset and the amount of the elements of the page.
+     *
+     * @param list   the list
+     * @param args   the arguments
+     * @param mapper the function converting an element to a script object
+     * @param <T>    the type of the elements
+     * @return the array
+     */
+    public static <T> ProxyArray page(final List<T> list, final List<Value> args,
+                                      final Function<? super T, Object> mapper) {
+        ScriptingUtils.validateArgs(args, 0, 2);
+        if (args.isEmpty()) {
+            return array(list, mapper);
+        }
+        final int from = Math.max(0, Math.min(list.size(), args.get(0).asInt()));
+        final int to = Math.max(from, Math.min(list.size(), from + Math.max(0, args.get(1).asInt())));
+        return array(list.subList(from, to), mapper);
+    }
+
+    /**
+     * Creates a lazy array over a page of the elements of a cache, from the arguments of a script function: no
+     * arguments for all the elements, or the offset and the amount of the elements of the page. <br>
+     * Unlike {@link #page(List, List, Function)}, the elements of the cache are not copied to a list up front: all
+     * the elements are only listed once a script accesses one of them, and a page only holds its own elements.
+     *
+     * @param cache  the cache
+     * @param args   the arguments
+     * @param mapper the function converting an element to a script object
+     * @param <T>    the type of the elements
+     * @return the array
+     */
+    public static <T> ProxyArray page(final CacheView<T> cache, final List<Value> args,
+                                      final Function<? super T, Object> mapper) {
+        ScriptingUtils.validateArgs(args, 0, 2);
+        final int size = (int) Math.min(cache.size(), Integer.MAX_VALUE);
+        if (args.isEmpty()) {
+            final Supplier<List<T>> elements = memoize(cache::asList);
+            return array(size, i -> {
+                // The cache may have shrunk since the array was created
+                final var list = elements.get();
+                return i < list.size() ? mapper.apply(list.get(i)) : null;
+            });
+        }
+        final int from = Math.max(0, args.get(0).asInt());
+        final int amount = Math.max(0, args.get(1).asInt());
+        final var page = new ArrayList<T>(Math.min(amount, Math.max(0, size - from)));
+        try (var iterator = cache.lockedIterator()) {
+            for (int i = 0; iterator.hasNext() && page.size() < amount; i++) {
+                final var element = iterator.next();
+                if (i >= from) {
+                    page.add(element);
+                }
+            }
+        }
+        return array(page, mapper);
+    }
+
+    /**
+     * Creates a lazy iterable over the elements of a source, which is only queried when a script starts iterating.
+     *
+     * @param source the supplier of the elements
+     * @param mapper the function converting an element to a script object
+     * @param <T>    the type of the elements
+     * @return the iterable
+     */
+    public static <T> ProxyIterable iterable(final Supplier<? extends Iterable<T>> source,
+                                             final Function<? super T, Object> mapper) {
+        return () -> new MappingIterator<>(source.get().iterator(), mapper);
+    }
+
+    private static Object toScriptObject(final Object object) {
+        return object instanceof ScriptingContext context ? context.toProxyObject() : object;
+    }
+
+    private static <T> Supplier<T> memoize(final Supplier<T> supplier) {
+        return new Supplier<>() {
+            private T value;
+
+            @Override
+            public T get() {
+                if (value == null) {
+                    value = supplier.get();
+                }
+                return value;
+            }
+        };
+    }
+
+    private static final class LazyArray implements ProxyArray {
+        /**
+         * The amount of elements of a page of the cache.
+         */
+        private static final int PAGE_SIZE = 64;
+
+        /**
+         * Marks cached elements which were computed as {@code null}, so that they are not computed again.
+         */
+        private static final Object NULL = new Object();
+
+        private final int size;
+        private final IntFunction<Object> getter;
+        /**
+         * The accessed pages, keyed by their index.
+         */
+        private final Map<Integer, Object[]> pages = new HashMap<>();
+
+        private LazyArray(final int size, final IntFunction<Object> getter) {
+            this.size = size;
+            this.getter = getter;
+        }
+
+        @Override
+        public Object get(final long index) {
+            if (index < 0 || index >= size) {
+                throw new ArrayIndexOutOfBoundsException("Index %s is out of bounds for length %s".formatted(index, size));
+            }
+            final int i = (int) index;
+            final var page = pages.computeIfAbsent(i / PAGE_SIZE, k -> new Object[Math.min(PAGE_SIZE, size - k * PAGE_SIZE)]);
+            var element = page[i % PAGE_SIZE];
+            if (element == null) {
+                element = toScriptObject(getter.apply(i));
+                page[i % PAGE_SIZE] = element == null ? NULL : element;
+            }
+            return element == NULL ? null : element;
+        }
+
+        @Override
+        public void set(final long index, final Value value) {
+            throw new UnsupportedOperationException("This array is read-only!");
+        }
+
+        @Override
+        public boolean remove(final long index) {
+            throw new UnsupportedOperationException("This array is read-only!");
+        }
+
+        @Override
+        public long getSize() {
+            return size;
+        }
+    }
+
+    private record MappingIterator<T>(Iterator<T> iterator, Function<? super T, Object> mapper)
+        implements ProxyIterator {
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public Object getNext() throws NoSuchElementException {
+            return toScriptObject(mapper.apply(iterator.next()));
+        }
+    }
+}
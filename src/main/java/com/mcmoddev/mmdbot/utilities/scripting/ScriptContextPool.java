@@ -0,0 +1,317 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.scripting;
+
+import com.mcmoddev.mmdbot.MMDBot;
+import com.mcmoddev.mmdbot.utilities.Utils;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.EnvironmentAccess;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.ResourceLimits;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * A pool of pre-initialised, sandboxed script contexts, sharing the {@link ScriptingUtils#ENGINE}. <br>
+ * Creating a context and registering its bindings is most of the cost of running a small script, so contexts are
+ * reused between evaluations instead. In order for no state to leak between evaluations:
+ * <ul>
+ *     <li>every object reachable from the global object when the context is created (the JavaScript intrinsics, such as
+ *     {@code Array.prototype}) is frozen, so scripts cannot modify them;</li>
+ *     <li>the shared host objects (such as {@code Utils}) are {@linkplain ScriptingContext#toReadOnlyProxyObject() read-only};</li>
+ *     <li>scripts are wrapped in a function, so their declarations do not end up in the global scope;</li>
+ *     <li>after each evaluation, the global object is reset to its initial properties.</li>
+ * </ul>
+ * A context which failed to reset, or whose evaluation was cancelled or failed internally, is closed instead of being
+ * returned to the pool.
+ */
+public final class ScriptContextPool {
+
+    /**
+     * Hardens the intrinsics and returns the function resetting the global object, and the function defining
+     * lazy global bindings. <br>
+     * All the functions used by the reset function are captured before any script runs, as scripts may replace the
+     * global bindings (but not the frozen objects themselves).
+     */
+    private static final Source INIT_SOURCE = Source.create("js", """
+        (function () {
+            'use strict';
+            const global = globalThis;
+            const ownKeys = Reflect.ownKeys;
+            const getOwnPropertyDescriptor = Reflect.getOwnPropertyDescriptor;
+            const defineProperty = Reflect.defineProperty;
+            const deleteProperty = Reflect.deleteProperty;
+            const getPrototypeOf = Reflect.getPrototypeOf;
+            const isExtensible = Reflect.isExtensible;
+            const freeze = Object.freeze;
+            const exec = RegExp.prototype.exec;
+            const emptyRegex = /(?:)/;
+
+            const seen = new Set();
+            const pending = [];
+            const pushDescriptor = (descriptor) => {
+                if (descriptor) {
+                    pending.push(descriptor.value, descriptor.get, descriptor.set);
+                }
+            };
+            for (const key of ownKeys(global)) {
+                pushDescriptor(getOwnPropertyDescriptor(global, key));
+            }
+            while (pending.length > 0) {
+                const value = pending.pop();
+                if ((typeof value !== 'object' && typeof value !== 'function') || value === null || value === global
+                    || seen.has(value)) {
+                    continue;
+                }
+                seen.add(value);
+                try {
+                    freeze(value);
+                } catch (e) {
+                    // Host objects cannot be frozen, and are protected on the host side instead
+                    continue;
+                }
+                pending.push(getPrototypeOf(value));
+                for (const key of ownKeys(value)) {
+                    pushDescriptor(getOwnPropertyDescriptor(value, key));
+                }
+            }
+
+            const prototype = getPrototypeOf(global);
+            const baseline = new Map();
+            for (const key of ownKeys(global)) {
+                baseline.set(key, getOwnPropertyDescriptor(global, key));
+            }
+            const reset = function () {
+                for (const key of ownKeys(global)) {
+                    if (!baseline.has(key) && !deleteProperty(global, key)) {
+                        return false;
+                    }
+                }
+                for (const [key, descriptor] of baseline) {
+                    if (!defineProperty(global, key, descriptor)) {
+                        return false;
+                    }
+                }
+                // Clear the legacy static RegExp properties (such as RegExp.$1), which hold the last match
+                exec.call(emptyRegex, '');
+                return isExtensible(global) && getPrototypeOf(global) === prototype;
+            };
+            const defineLazy = function (key, supplier) {
+                let value;
+                let computed = false;
+                defineProperty(global, key, {
+                    configurable: true,
+                    enumerable: true,
+                    get() {
+                        if (!computed) {
+                            value = supplier();
+                            computed = true;
+                        }
+                        return value;
+                    },
+                    set(newValue) {
+                        value = newValue;
+                        computed = true;
+                    }
+                });
+            };
+            return { reset, defineLazy };
+        })()
+        """, "init");
+
+    private final int size;
+    private final BlockingQueue<PooledContext> idle;
+    private final ResourceLimits limits;
+
+    /**
+     * Creates a new, empty, pool.
+     *
+     * @param size           the maximum amount of idle contexts kept by the pool
+     * @param statementLimit the maximum amount of statements a single evaluation may execute, or {@code 0} for no limit.
+     *                       All the contexts of the shared engine must use the same limit
+     */
+    public ScriptContextPool(final int size, final long statementLimit) {
+        this.size = Math.max(size, 0);
+        this.idle = new LinkedBlockingQueue<>(Math.max(size, 1));
+        this.limits = statementLimit > 0 ? ResourceLimits.newBuilder().statementLimit(statementLimit, null).build() : null;
+    }
+
+    /**
+     * Fills the pool in the background, so that the first evaluations do not have to create a context.
+     */
+    public void warmUp() {
+        warmUp(List.of());
+    }
+
+    /**
+     * Fills the pool in the background, so that the first evaluations do not have to create a context, and
+     * {@linkplain #parse(Source) parses} the given sources, so that their first evaluations do not have to parse them.
+     *
+     * @param sources the sources to parse
+     */
+    public void warmUp(final Collection<Source> sources) {
+        final var thread = new Thread(() -> {
+            while (idle.size() < size) {
+                final var context = create();
+                if (!idle.offer(context)) {
+                    context.close();
+                    break;
+                }
+            }
+            MMDBot.LOGGER.debug("Warmed up {} script contexts.", size);
+            for (final var source : sources) {
+                try {
+                    parse(source);
+                } catch (PolyglotException e) {
+                    MMDBot.LOGGER.warn("Could not parse script {}: {}", source.getName(), e.getMessage());
+                }
+            }
+        }, "ScriptContextWarmUp");
+        Utils.setThreadDaemon(thread, true);
+        thread.start();
+    }
+
+    /**
+     * Evaluates a script in a context of this pool. <br>
+     * If the current thread runs a {@link ScriptExecution}, the context is attached to it while the script is
+     * evaluated, so that the execution can be cancelled.
+     *
+     * @param script   the script to evaluate
+     * @param bindings the bindings specific to this evaluation, which are removed once it finishes. Lazy members
+     *                 are defined as memoised getters, so they are only computed if the script uses them
+     * @throws PolyglotException if the script threw an exception, exceeded its statement limit or was cancelled
+     */
+    public void evaluate(final Source script, final ScriptingContext bindings) {
+        var context = idle.poll();
+        if (context == null) {
+            context = create();
+        }
+        final var execution = ScriptExecution.current();
+        Context previous = null;
+        boolean reusable = false;
+        try {
+            if (limits != null) {
+                context.context().resetLimits();
+            }
+            if (execution != null) {
+                previous = execution.attach(context.context());
+            }
+            bindings.applyTo(context.bindings(), context.defineLazy());
+            context.context().eval(script);
+            reusable = true;
+        } catch (PolyglotException e) {
+            // A guest exception leaves the context usable, anything else may have left it in an unknown state
+            reusable = e.isGuestException() && !e.isCancelled() && !e.isInternalError() && !e.isResourceExhausted()
+                && !e.isExit() && !e.isInterrupted();
+            throw e;
+        } finally {
+            if (execution != null) {
+                execution.detach(previous);
+                reusable &= execution.getCancelReason() == null;
+            }
+            release(context, reusable);
+        }
+    }
+
+    /**
+     * Parses a script without evaluating it. The parsed code is cached by the shared engine, and reused by the
+     * evaluations of the same source in any context of the pool.
+     *
+     * @param script the script to parse
+     * @throws PolyglotException if the script has a syntax error
+     */
+    public void parse(final Source script) {
+        var context = idle.poll();
+        if (context == null) {
+            context = create();
+        }
+        try {
+            context.context().parse(script);
+        } finally {
+            // Parsing does not run any code, so the context does not need to be reset
+            if (!idle.offer(context)) {
+                context.close();
+            }
+        }
+    }
+
+    /**
+     * {@return the amount of idle contexts in the pool}
+     */
+    public int getIdle() {
+        return idle.size();
+    }
+
+    private void release(final PooledContext context, final boolean reusable) {
+        if (reusable && !Thread.currentThread().isInterrupted() && reset(context) && idle.offer(context)) {
+            return;
+        }
+        context.close();
+    }
+
+    private static boolean reset(final PooledContext context) {
+        try {
+            return context.reset().execute().asBoolean();
+        } catch (PolyglotException e) {
+            return false;
+        }
+    }
+
+    private PooledContext create() {
+        final var builder = Context.newBuilder("js")
+            .engine(ScriptingUtils.ENGINE)
+            .allowNativeAccess(false)
+            .allowIO(false)
+            .allowCreateProcess(false)
+            .allowEnvironmentAccess(EnvironmentAccess.NONE)
+            .allowHostClassLoading(false)
+            .allowValueSharing(true)
+            .allowHostAccess(ScriptingUtils.HOST_ACCESS);
+        if (limits != null) {
+            builder.resourceLimits(limits);
+        }
+        final var context = builder.build();
+        final var bindings = context.getBindings("js");
+        bindings.removeMember("load");
+        bindings.removeMember("loadWithNewGlobal");
+        bindings.removeMember("eval");
+        bindings.removeMember("exit");
+        bindings.removeMember("quit");
+        ScriptingUtils.createGlobalContext().applyTo(bindings);
+        final var functions = context.eval(INIT_SOURCE);
+        return new PooledContext(context, bindings, functions.getMember("reset"), functions.getMember("defineLazy"));
+    }
+
+    private record PooledContext(Context context, Value bindings, Value reset, Value defineLazy) {
+        void close() {
+            try {
+                context.close(true);
+            } catch (PolyglotException | IllegalStateException e) {
+                MMDBot.LOGGER.debug("Could not close script context", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.scripting;
+
+import com.mcmoddev.mmdbot.MMDBot;
+import org.graalvm.polyglot.Context;
+
+import javax.annotation.Nullable;
+import java.io.Serial;
+
+/**
+ * An execution of scripts scheduled by the {@link ScriptScheduler}. <br>
+ * The {@link ScriptContextPool} attaches the context it evaluates a script in to the execution of the current
+ * thread, so that the scheduler can cancel it from another thread once it exceeds its budget. <br>
+ * While a script is evaluated, the host calls it makes and the host objects created for it are counted, and the
+ * script is aborted once either exceeds the {@linkplain ScriptScheduler.Budget budget}.
+ */
+public final class ScriptExecution {
+
+    private static final ThreadLocal<ScriptExecution> CURRENT = new ThreadLocal<>();
+
+    private final long userId;
+    private final Thread thread;
+    private final ScriptScheduler.Budget budget;
+    private final long startNanos;
+    private final long startCpuNanos;
+
+    private volatile Context context;
+    private volatile String cancelReason;
+    private volatile long hostCalls;
+    private volatile long hostObjects;
+    private volatile long cpuTimeNanos;
+
+    ScriptExecution(final long userId, final Thread thread, final ScriptScheduler.Budget budget,
+                    final long startCpuNanos) {
+        this.userId = userId;
+        this.thread = thread;
+        this.budget = budget;
+        this.startNanos = System.nanoTime();
+        this.startCpuNanos = startCpuNanos;
+    }
+
+    /**
+     * {@return the execution of the current thread, or {@code null} if the thread is not running a scheduled execution}
+     */
+    @Nullable
+    public static ScriptExecution current() {
+        return CURRENT.get();
+    }
+
+    static void setCurrent(@Nullable final ScriptExecution execution) {
+        if (execution == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(execution);
+        }
+    }
+
+    /**
+     * Records a call of a host function by the script evaluated on the current thread, if any.
+     *
+     * @throws ScriptAbortedException if the script exceeded its budget of host calls
+     */
+    public static void recordHostCall() {
+        final var execution = CURRENT.get();
+        if (execution != null && execution.context != null) {
+            execution.checkAborted();
+            // Only the thread of the execution writes the counters
+            final long calls = ++execution.hostCalls;
+            if (execution.budget.maxHostCalls() > 0 && calls > execution.budget.maxHostCalls()) {
+                execution.abort("The script exceeded the limit of %s host calls!".formatted(execution.budget.maxHostCalls()));
+            }
+        }
+    }
+
+    /**
+     * Records the creation of host objects for the script evaluated on the current thread, if any.
+     *
+     * @param amount the amount of created objects
+     * @throws ScriptAbortedException if the script exceeded its budget of host objects
+     */
+    public static void recordHostObjects(final int amount) {
+        final var execution = CURRENT.get();
+        if (execution != null && execution.context != null) {
+            execution.checkAborted();
+            final long objects = execution.hostObjects += amount;
+            if (execution.budget.maxHostObjects() > 0 && objects > execution.budget.maxHostObjects()) {
+                execution.abort("The script exceeded the limit of %s host objects!".formatted(execution.budget.maxHostObjects()));
+            }
+        }
+    }
+
+    private void checkAborted() {
+        if (cancelReason != null) {
+            throw new ScriptAbortedException(cancelReason);
+        }
+    }
+
+    /**
+     * Aborts the script from its own thread. As the script may catch the thrown exception, every later host call
+     * throws it again, and the scheduler closes the context on its next check.
+     */
+    private void abort(final String reason) {
+        if (cancelReason == null) {
+            cancelReason = reason;
+        }
+        throw new ScriptAbortedException(cancelReason);
+    }
+
+    /**
+     * Attaches the context a script is being evaluated in to this execution. <br>
+     * If this execution was already cancelled, the context is closed immediately. <br>
+     * Scripts may evaluate other scripts (such as script tricks running other script tricks), in which case the
+     * context of the nested script replaces the current one until it is {@linkplain #detach(Context) detached}.
+     *
+     * @param context the context
+     * @return the previously attached context, or {@code null} if there was none
+     */
+    @Nullable
+    Context attach(final Context context) {
+        final var previous = this.context;
+        this.context = context;
+        if (cancelReason != null) {
+            closeContext(context);
+        }
+        return previous;
+    }
+
+    /**
+     * Detaches the context, once the script finished being evaluated.
+     *
+     * @param previous the context which was attached before it, restored as the current context
+     */
+    void detach(@Nullable final Context previous) {
+        this.context = previous;
+    }
+
+    /**
+     * Cancels this execution, closing the context of the script currently evaluated.
+     *
+     * @param reason the reason for the cancellation, shown to the user
+     */
+    void cancel(final String reason) {
+        if (cancelReason == null) {
+            cancelReason = reason;
+        }
+        final var current = context;
+        if (current != null) {
+            closeContext(current);
+        }
+    }
+
+    private static void closeContext(final Context context) {
+        try {
+            context.close(true);
+        } catch (IllegalStateException e) {
+            MMDBot.LOGGER.debug("Could not cancel script context", e);
+        }
+    }
+
+    /**
+     * {@return the reason this execution was cancelled for, or {@code null} if it was not cancelled}
+     */
+    @Nullable
+    public String getCancelReason() {
+        return cancelReason;
+    }
+
+    /**
+     * {@return the amount of host calls made by the scripts of this execution}
+     */
+    public long getHostCalls() {
+        return hostCalls;
+    }
+
+    /**
+     * {@return the amount of host objects created for the scripts of this execution}
+     */
+    public long getHostObjects() {
+        return hostObjects;
+    }
+
+    /**
+     * {@return the CPU time used by this execution, in nanoseconds, or {@code 0} if it is not measured}
+     */
+    public long getCpuTime() {
+        return cpuTimeNanos;
+    }
+
+    void setCpuTime(final long cpuTimeNanos) {
+        this.cpuTimeNanos = cpuTimeNanos;
+    }
+
+    /**
+     * {@return a short report of the cost of this execution}
+     */
+    public String formatCost() {
+        final var cost = "Host calls: %s | Host objects: %s".formatted(hostCalls, hostObjects);
+        return cpuTimeNanos > 0 ? cost + " | CPU time: %sms".formatted(cpuTimeNanos / 1_000_000) : cost;
+    }
+
+    /**
+     * {@return the ID of the user who started this execution}
+     */
+    public long getUserId() {
+        return userId;
+    }
+
+    Thread getThread() {
+        return thread;
+    }
+
+    long getStartNanos() {
+        return startNanos;
+    }
+
+    long getStartCpuNanos() {
+        return startCpuNanos;
+    }
+
+    /**
+     * Thrown by host calls of a script which exceeded its budget.
+     */
+    public static final class ScriptAbortedException extends RuntimeException {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        public ScriptAbortedException(final String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.scripting;
+
+import com.mcmoddev.mmdbot.MMDBot;
+import com.mcmoddev.mmdbot.utilities.Utils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Schedules the evaluation of scripts on a bounded pool of workers. <br>
+ * <ul>
+ *     <li>Each user has at most one script running at a time, and a limited amount of scripts waiting.</li>
+ *     <li>The amount of waiting scripts is bounded globally, and scripts submitted once it is reached are rejected.</li>
+ *     <li>Waiting scripts are admitted fairly: users take turns, so a user submitting many scripts does not delay
+ *     the scripts of the others.</li>
+ *     <li>A watchdog {@linkplain ScriptExecution#cancel(String) cancels} scripts exceeding their CPU time or wall
+ *     time budget, by closing their context.</li>
+ * </ul>
+ */
+public final class ScriptScheduler {
+
+    private static final long WATCHDOG_PERIOD_MILLIS = 50;
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private final int workers;
+    private final int maxQueued;
+    private final int maxQueuedPerUser;
+    private final Budget budget;
+    private final long cpuTimeLimitNanos;
+    private final long timeLimitNanos;
+    private final boolean cpuTimeSupported;
+
+    private final ExecutorService executor;
+    private final ScheduledExecutorService watchdog;
+
+    /**
+     * The waiting jobs of each user, in the order the users take turns in.
+     */
+    private final LinkedHashMap<Long, Queue<Job>> waiting = new LinkedHashMap<>();
+    private final Map<Long, Integer> runningPerUser = new HashMap<>();
+    private final Set<ScriptExecution> running = ConcurrentHashMap.newKeySet();
+    private int queued;
+    private int runningTotal;
+
+    /**
+     * Creates a new scheduler.
+     *
+     * @param workers          the amount of scripts running at the same time
+     * @param maxQueued        the maximum amount of waiting scripts
+     * @param maxQueuedPerUser the maximum amount of waiting scripts of a single user
+     * @param budget           the budget of each execution
+     */
+    public ScriptScheduler(final int workers, final int maxQueued, final int maxQueuedPerUser, final Budget budget) {
+        this.workers = Math.max(workers, 1);
+        this.maxQueued = maxQueued;
+        this.maxQueuedPerUser = maxQueuedPerUser;
+        this.budget = budget;
+        this.cpuTimeLimitNanos = TimeUnit.MILLISECONDS.toNanos(budget.cpuTimeLimit());
+        this.timeLimitNanos = TimeUnit.MILLISECONDS.toNanos(budget.timeLimit());
+        this.cpuTimeSupported = THREAD_MX_BEAN.isThreadCpuTimeSupported();
+        if (cpuTimeSupported && !THREAD_MX_BEAN.isThreadCpuTimeEnabled()) {
+            THREAD_MX_BEAN.setThreadCpuTimeEnabled(true);
+        }
+        final var threadIndex = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.workers, r ->
+            Utils.setThreadDaemon(new Thread(r, "ScriptEvaluator-" + threadIndex.getAndIncrement()), true));
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(r ->
+            Utils.setThreadDaemon(new Thread(r, "ScriptWatchdog"), true));
+        this.watchdog.scheduleAtFixedRate(this::checkBudgets, WATCHDOG_PERIOD_MILLIS, WATCHDOG_PERIOD_MILLIS,
+            TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Submits a task evaluating scripts. <br>
+     * The returned future is completed exceptionally with a {@link RejectedExecutionException} if the user or the
+     * scheduler has too many waiting scripts, with a {@link CancellationException} if the task was cancelled for
+     * exceeding its budget, and with the exception the task threw if it failed.
+     *
+     * @param userId the ID of the user who submitted the task
+     * @param task   the task
+     * @return a future completed with the execution of the task, holding its cost, once the task finishes
+     */
+    public CompletableFuture<ScriptExecution> submit(final long userId, final Runnable task) {
+        final var job = new Job(userId, task, new CompletableFuture<>());
+        synchronized (this) {
+            final var userQueue = waiting.get(userId);
+            if (queued >= maxQueued) {
+                return CompletableFuture.failedFuture(new RejectedExecutionException(
+                    "Too many scripts are waiting to be evaluated! Please try again later."));
+            }
+            if (userQueue != null && userQueue.size() >= maxQueuedPerUser) {
+                return CompletableFuture.failedFuture(new RejectedExecutionException(
+                    "You have too many scripts waiting to be evaluated!"));
+            }
+            waiting.computeIfAbsent(userId, k -> new ArrayDeque<>()).add(job);
+            queued++;
+            dispatch();
+        }
+        return job.future();
+    }
+
+    /**
+     * {@return the amount of waiting scripts}
+     */
+    public synchronized int getQueued() {
+        return queued;
+    }
+
+    /**
+     * {@return the amount of running scripts}
+     */
+    public synchronized int getRunning() {
+        return runningTotal;
+    }
+
+    /**
+     * Starts waiting jobs while there are free workers. Must be called while holding the lock.
+     */
+    private void dispatch() {
+        while (runningTotal < workers) {
+            final var job = pollFair();
+            if (job == null) {
+                return;
+            }
+            queued--;
+            runningTotal++;
+            runningPerUser.merge(job.userId(), 1, Integer::sum);
+            executor.execute(() -> run(job));
+        }
+    }
+
+    /**
+     * Takes the first job of the first user without a running script, moving that user to the end of the turns.
+     */
+    private Job pollFair() {
+        final Iterator<Map.Entry<Long, Queue<Job>>> iterator = waiting.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final var entry = iterator.next();
+            if (runningPerUser.getOrDefault(entry.getKey(), 0) > 0) {
+                continue;
+            }
+            final var userQueue = entry.getValue();
+            final var job = userQueue.poll();
+            iterator.remove();
+            if (!userQueue.isEmpty()) {
+                waiting.put(entry.getKey(), userQueue);
+            }
+            return job;
+        }
+        return null;
+    }
+
+    private void run(final Job job) {
+        final var thread = Thread.currentThread();
+        final var execution = new ScriptExecution(job.userId(), thread, budget, cpuTimeSupported
+            ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : 0);
+        running.add(execution);
+        ScriptExecution.setCurrent(execution);
+        try {
+            job.task().run();
+            recordCpuTime(execution);
+            if (execution.getCancelReason() != null) {
+                job.future().completeExceptionally(new CancellationException(execution.getCancelReason()));
+            } else {
+                job.future().complete(execution);
+            }
+        } catch (RuntimeException e) {
+            recordCpuTime(execution);
+            final var reason = execution.getCancelReason();
+            job.future().completeExceptionally(reason == null ? e : new CancellationException(reason));
+        } finally {
+            ScriptExecution.setCurrent(null);
+            running.remove(execution);
+            // Clear the interrupted flag, so that it does not affect the next job of the worker
+            Thread.interrupted();
+            synchronized (this) {
+                runningTotal--;
+                runningPerUser.computeIfPresent(job.userId(), (k, v) -> v <= 1 ? null : v - 1);
+                dispatch();
+            }
+        }
+    }
+
+    private void recordCpuTime(final ScriptExecution execution) {
+        if (cpuTimeSupported) {
+            execution.setCpuTime(THREAD_MX_BEAN.getCurrentThreadCpuTime() - execution.getStartCpuNanos());
+        }
+    }
+
+    private void checkBudgets() {
+        try {
+            final long now = System.nanoTime();
+            for (final var execution : running) {
+                if (execution.getCancelReason() != null) {
+                    // Aborted by a host call, close the context in case the script caught the exception
+                    execution.cancel(execution.getCancelReason());
+                } else if (timeLimitNanos > 0 && now - execution.getStartNanos() > timeLimitNanos) {
+                    execution.cancel("Evaluation was timed out!");
+                } else if (cpuTimeSupported && cpuTimeLimitNanos > 0) {
+                    final long cpu = THREAD_MX_BEAN.getThreadCpuTime(execution.getThread().getId());
+                    if (cpu >= 0 && cpu - execution.getStartCpuNanos() > cpuTimeLimitNanos) {
+                        execution.cancel("Evaluation exceeded its CPU time budget!");
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            MMDBot.LOGGER.error("Error while checking the budgets of running scripts", e);
+        }
+    }
+
+    /**
+     * The budget of an execution. A limit of {@code 0} means no limit.
+     *
+     * @param cpuTimeLimit   the CPU time the execution may use, in milliseconds
+     * @param timeLimit      the time the execution may run for, in milliseconds
+     * @param maxHostCalls   the maximum amount of host calls the scripts of the execution may make
+     * @param maxHostObjects the maximum amount of host objects which may be created for the scripts of the execution
+     */
+    public record Budget(long cpuTimeLimit, long timeLimit, long maxHostCalls, long maxHostObjects) {
+    }
+
+    private record Job(long userId, Runnable task, CompletableFuture<ScriptExecution> future) {
+    }
+}
@@ -34,6 +34,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 public class ScriptingContext {
 
@@ -43,6 +44,7 @@ public class ScriptingContext {
     public ScriptingContext(final String name, final Map<String, Object> map) {
         this.map = map;
         this.name = name;
+        ScriptExecution.recordHostObjects(1);
     }
 
     public static ScriptingContext of(String name) {
@@ -66,12 +68,32 @@ public class ScriptingContext {
     }
 
     public Object get(String key) {
-        return map.get(key);
+        final var value = map.get(key);
+        return value instanceof Lazy lazy ? lazy.get() : value;
     }
 
     public ScriptingContext set(String key, Object value) {
+        map.put(key, convert(value));
+        return this;
+    }
+
+    /**
+     * Sets a member whose value is only computed when a script first accesses it. The value is then memoised. <br>
+     * Used for the members which are expensive to compute, such as the contexts of other objects, as most scripts
+     * only use a few of them.
+     *
+     * @param key      the key of the member
+     * @param supplier the supplier of the value
+     * @return this context
+     */
+    public ScriptingContext setLazy(String key, Supplier<Object> supplier) {
+        map.put(key, new Lazy(supplier));
+        return this;
+    }
+
+    private static Object convert(Object value) {
         if (value instanceof ScriptingContext context) {
-            map.put(key, context.toProxyObject());
+            return context.toProxyObject();
         } else if (value instanceof List list) {
             final var objects = new ArrayList<>();
             for (var obj : list) {
@@ -81,11 +103,9 @@ public class ScriptingContext {
                     objects.add(obj);
                 }
             }
-            map.put(key, objects);
-        } else {
-            map.put(key, value);
+            return objects;
         }
-        return this;
+        return value;
     }
 
     public ScriptingContext setFunction(String name, Function<List<Value>, Object> function) {
@@ -133,7 +153,24 @@ public class ScriptingContext {
     }
 
     public void applyTo(Value bindings) {
-        map().forEach(bindings::putMember);
+        map().forEach((key, value) -> bindings.putMember(key, value instanceof Lazy lazy ? lazy.get() : value));
+    }
+
+    /**
+     * Applies this context to the bindings, keeping the {@linkplain #setLazy(String, Supplier) lazy} members lazy.
+     *
+     * @param bindings   the bindings to apply this context to
+     * @param defineLazy a guest function taking the key of a member and a function computing its value,
+     *                   which defines the member as a memoised getter
+     */
+    public void applyTo(Value bindings, Value defineLazy) {
+        map().forEach((key, value) -> {
+            if (value instanceof Lazy lazy) {
+                defineLazy.executeVoid(key, (ProxyExecutable) args -> lazy.get());
+            } else {
+                bindings.putMember(key, value);
+            }
+        });
     }
 
     public NamedProxyObject toProxyObject() {
@@ -141,7 +178,8 @@ public class ScriptingContext {
         return new NamedProxyObject() {
             @Override
             public Object getMember(final String key) {
-                return delegate.getMember(key);
+                final var value = delegate.getMember(key);
+                return value instanceof Lazy lazy ? lazy.get() : value;
             }
 
             @Override
@@ -166,6 +204,47 @@ public class ScriptingContext {
         };
     }
 
+    /**
+     * Creates a proxy object of this context which cannot be modified by scripts. <br>
+     * Used for the objects shared between evaluations, in order for no state to leak between them.
+     *
+     * @return the read-only proxy object
+     */
+    public NamedProxyObject toReadOnlyProxyObject() {
+        final var delegate = toProxyObject();
+        return new NamedProxyObject() {
+            @Override
+            public Object getMember(final String key) {
+                return delegate.getMember(key);
+            }
+
+            @Override
+            public Object getMemberKeys() {
+                return delegate.getMemberKeys();
+            }
+
+            @Override
+            public boolean hasMember(final String key) {
+                return delegate.hasMember(key);
+            }
+
+            @Override
+            public void putMember(final String key, final Value value) {
+                throw new UnsupportedOperationException("%s is read-only!".formatted(name));
+            }
+
+            @Override
+            public boolean removeMember(final String key) {
+                throw new UnsupportedOperationException("%s is read-only!".formatted(name));
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+        };
+    }
+
     public String name() {
         return name;
     }
@@ -174,6 +253,26 @@ public class ScriptingContext {
         return map;
     }
 
+    /**
+     * A lazily computed member.
+     */
+    private static final class Lazy {
+        private Supplier<Object> supplier;
+        private Object value;
+
+        private Lazy(final Supplier<Object> supplier) {
+            this.supplier = supplier;
+        }
+
+        private Object get() {
+            if (supplier != null) {
+                value = convert(supplier.get());
+                supplier = null;
+            }
+            return value;
+        }
+    }
+
     public interface NamedProxyObject extends ProxyObject {
         String getName();
     }
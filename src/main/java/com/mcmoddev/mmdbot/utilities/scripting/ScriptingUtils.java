@@ -20,7 +20,10 @@
  */
 package com.mcmoddev.mmdbot.utilities.scripting;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Lists;
+import com.mcmoddev.mmdbot.MMDBot;
 import com.mcmoddev.mmdbot.modules.logging.misc.ScamDetector;
 import com.mcmoddev.mmdbot.utilities.Utils;
 import com.mcmoddev.mmdbot.utilities.quotes.IQuote;
@@ -29,6 +32,7 @@ import com.mcmoddev.mmdbot.utilities.scripting.object.ScriptEmbed;
 import com.mcmoddev.mmdbot.utilities.scripting.object.ScriptRegion;
 import com.mcmoddev.mmdbot.utilities.scripting.object.ScriptRoleIcon;
 import com.mcmoddev.mmdbot.utilities.tricks.TrickContext;
+import com.mcmoddev.mmdbot.utilities.tricks.ScriptTrick;
 import com.mcmoddev.mmdbot.utilities.tricks.Tricks;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.Permission;
@@ -44,12 +48,13 @@ import net.dv8tion.jda.api.entities.RichPresence;
 import net.dv8tion.jda.api.entities.Role;
 import net.dv8tion.jda.api.entities.TextChannel;
 import net.dv8tion.jda.api.entities.User;
-import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Engine;
-import org.graalvm.polyglot.EnvironmentAccess;
 import org.graalvm.polyglot.HostAccess;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
 import org.graalvm.polyglot.proxy.ProxyExecutable;
+import org.graalvm.polyglot.proxy.ProxyObject;
 
 import javax.annotation.Nullable;
 import java.io.Serial;
@@ -60,8 +65,6 @@ import java.util.Comparator;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.IntStream;
@@ -95,64 +98,167 @@ public final class ScriptingUtils {
     }
 
     /**
-     * Execute any script inside this thread pool if you think the script will be heavy. <br>
-     * <b>BY DEFAULT, {@link #evaluate(String, ScriptingContext)} calls are NOT executed in another thread.</b>
+     * The sources of the scripts evaluated often (such as script tricks), keyed by the content of the script, so
+     * that their parsed code is reused by the {@link #ENGINE} instead of being parsed on each evaluation.
+     */
+    private static final Cache<String, Source> SOURCE_CACHE = CacheBuilder.newBuilder()
+        .maximumSize(256)
+        .build();
+
+    /**
+     * The maximum amount of script tricks run by other script tricks, nested into each other.
      */
-    public static final Executor THREAD_POOL = Executors.newFixedThreadPool(2, r -> Utils.setThreadDaemon(new Thread(r, "ScriptEvaluator"), true));
+    private static final int MAX_NESTED_TRICK_DEPTH = 3;
+
+    /**
+     * The amount of script tricks currently nested on the evaluating thread.
+     */
+    private static final ThreadLocal<int[]> NESTED_TRICK_DEPTH = ThreadLocal.withInitial(() -> new int[1]);
 
     public static void evaluate(String script, ScriptingContext context) {
+        evaluate(script, context, false);
+    }
+
+    /**
+     * Evaluates a script.
+     *
+     * @param script      the script to evaluate
+     * @param context     the bindings of the evaluation
+     * @param cacheSource if the source of the script should be cached, for scripts which are evaluated often
+     */
+    public static void evaluate(String script, ScriptingContext context, boolean cacheSource) {
         if (ScamDetector.containsScam(script)) {
             throw new ScriptingException("This script contained a scam link!");
         }
-        try (var engine = Context.newBuilder("js")
-            .engine(ENGINE)
-            .allowNativeAccess(false)
-            .allowIO(false)
-            .allowCreateProcess(false)
-            .allowEnvironmentAccess(EnvironmentAccess.NONE)
-            .allowHostClassLoading(false)
-            .allowValueSharing(true)
-            .allowHostAccess(HOST_ACCESS)
-            .build()) {
-
-            final var bindings = engine.getBindings("js");
-            bindings.removeMember("load");
-            bindings.removeMember("loadWithNewGlobal");
-            bindings.removeMember("eval");
-            bindings.removeMember("exit");
-            bindings.removeMember("quit");
-
-            bindings.putMember("exit", functionObject(args -> {
-                throw new IllegalCallerException("GG! You tried stopping me!");
-            }));
-            bindings.putMember("quit", functionObject(args -> {
-                throw new IllegalCallerException("GG! You tried stopping me!");
-            }));
-
-            context.addInstantiatable(new String[]{"Embed", "EmbedBuilder"}, args -> {
-                validateArgs(args, 0, 2);
-                if (args.size() == 2) {
-                    return new ScriptEmbed(new EmbedBuilder().setTitle(args.get(0).asString())
-                        .setDescription(args.get(1).asString())).toProxyObject();
+        try {
+            final var source = cacheSource ? SOURCE_CACHE.get(script, () -> createSource(script)) : createSource(script);
+            getContextPool().evaluate(source, context);
+        } catch (Exception e) {
+            throw new ScriptingException(e);
+        }
+    }
+
+    /**
+     * Parses a script, in order to validate it before it is stored (such as in a trick), and caches its source, so
+     * that its first evaluation does not have to parse it.
+     *
+     * @param script the script
+     * @return the source of the script
+     * @throws ScriptingException if the script has a syntax error
+     */
+    public static Source precompile(String script) {
+        final var source = createSource(script);
+        try {
+            getContextPool().parse(source);
+        } catch (PolyglotException e) {
+            if (e.isSyntaxError()) {
+                throw new ScriptingException("The script has a syntax error: " + e.getMessage());
+            }
+            throw new ScriptingException(e);
+        }
+        SOURCE_CACHE.put(script, source);
+        return source;
+    }
+
+    /**
+     * Warms up the {@linkplain #getContextPool() context pool}, and parses the scripts of the script tricks in the
+     * background, so that their first evaluations after a restart are as fast as the later ones.
+     */
+    public static void warmUp() {
+        final var sources = Tricks.getTricks().stream()
+            .filter(ScriptTrick.class::isInstance)
+            .map(trick -> {
+                var source = SOURCE_CACHE.getIfPresent(trick.getRaw());
+                if (source == null) {
+                    source = createSource(trick.getRaw());
+                    SOURCE_CACHE.put(trick.getRaw(), source);
                 }
-                return new ScriptEmbed();
-            });
+                return source;
+            })
+            .toList();
+        getContextPool().warmUp(sources);
+    }
 
-            context.set("Utils", UTILS_CLASS);
-            context.set("Math", MATH_CLASS);
-            context.set("System", SYSTEM_CLASS);
-            context.set("Instant", INSTANT_CLASS);
+    /**
+     * Removes the cached source of a script, if it is cached.
+     *
+     * @param script the script
+     */
+    public static void invalidateSource(String script) {
+        SOURCE_CACHE.invalidate(script);
+    }
 
-            if (!bindings.hasMember("parseString")) {
-                context.setFunction("parseString", executeIfArgsValid(a -> a.get(0).toString(), 1));
+    /**
+     * Creates the source of a script. The script is wrapped in a function (on the same line, so that line numbers
+     * are kept), so that its declarations are not added to the global scope of the pooled context it runs in.
+     *
+     * @param script the script
+     * @return the source
+     */
+    public static Source createSource(String script) {
+        return Source.create("js", "(function () {" + script + "\n})();");
+    }
+
+    /**
+     * {@return the pool of contexts scripts are evaluated in}
+     */
+    public static ScriptContextPool getContextPool() {
+        return ContextPoolHolder.POOL;
+    }
+
+    /**
+     * Submit scripts to this scheduler to evaluate them on a bounded pool of workers, with a CPU time budget. <br>
+     * <b>BY DEFAULT, {@link #evaluate(String, ScriptingContext)} calls are NOT executed in another thread.</b>
+     *
+     * @return the scheduler of script evaluations
+     */
+    public static ScriptScheduler getScheduler() {
+        return SchedulerHolder.SCHEDULER;
+    }
+
+    /**
+     * Creates the bindings shared by all the evaluations, added to a context when it is created. <br>
+     * As the shared objects are reused between evaluations, they are exposed as read-only.
+     *
+     * @return the global bindings
+     */
+    static ScriptingContext createGlobalContext() {
+        final var context = ScriptingContext.of("Global");
+        context.setFunction("exit", args -> {
+            throw new IllegalCallerException("GG! You tried stopping me!");
+        });
+        context.setFunction("quit", args -> {
+            throw new IllegalCallerException("GG! You tried stopping me!");
+        });
+
+        context.addInstantiatable(new String[]{"Embed", "EmbedBuilder"}, args -> {
+            validateArgs(args, 0, 2);
+            if (args.size() == 2) {
+                return new ScriptEmbed(new EmbedBuilder().setTitle(args.get(0).asString())
+                    .setDescription(args.get(1).asString())).toProxyObject();
             }
+            return new ScriptEmbed();
+        });
 
-            context.applyTo(bindings);
+        context.map().put("Utils", UTILS_CLASS.toReadOnlyProxyObject());
+        context.map().put("Math", MATH_CLASS.toReadOnlyProxyObject());
+        context.map().put("System", SYSTEM_CLASS.toReadOnlyProxyObject());
+        context.map().put("Instant", INSTANT_CLASS.toReadOnlyProxyObject());
 
-            engine.eval("js", script);
-        } catch (Exception e) {
-            throw new ScriptingException(e);
-        }
+        context.setFunction("parseString", executeIfArgsValid(a -> a.get(0).toString(), 1));
+        return context;
+    }
+
+    private static final class ContextPoolHolder {
+        private static final ScriptContextPool POOL = new ScriptContextPool(MMDBot.getConfig().getScriptContextPoolSize(),
+            MMDBot.getConfig().getScriptStatementLimit());
+    }
+
+    private static final class SchedulerHolder {
+        private static final ScriptScheduler SCHEDULER = new ScriptScheduler(MMDBot.getConfig().getScriptWorkers(),
+            MMDBot.getConfig().getScriptQueueCapacity(), MMDBot.getConfig().getScriptQueueCapacityPerUser(),
+            new ScriptScheduler.Budget(MMDBot.getConfig().getScriptCpuTimeLimit(), MMDBot.getConfig().getScriptTimeLimit(),
+                MMDBot.getConfig().getScriptMaxHostCalls(), MMDBot.getConfig().getScriptMaxHostObjects()));
     }
 
     public static ScriptingContext createMessageChannel(MessageChannel channel) {
@@ -219,12 +325,12 @@ public final class ScriptingUtils {
                 return new ScriptEmbed();
             }
         });
-        context.set("guild", trickContext.getGuild() == null ? null : createGuild(trickContext.getGuild()));
-        context.set("member", trickContext.getMember() == null ? null : createMember(trickContext.getMember(), true));
-        context.set("user", createUser(trickContext.getUser(), true));
+        context.setLazy("guild", () -> trickContext.getGuild() == null ? null : createGuild(trickContext.getGuild()));
+        context.setLazy("member", () -> trickContext.getMember() == null ? null : createMember(trickContext.getMember(), true));
+        context.setLazy("user", () -> createUser(trickContext.getUser(), true));
         context.set("args", trickContext.getArgs());
-        context.set("channel", createMessageChannel(trickContext.getChannel(), true));
-        context.set("textChannel", trickContext.getTextChannel() == null ? null : createTextChannel(trickContext.getTextChannel(), true));
+        context.setLazy("channel", () -> createMessageChannel(trickContext.getChannel(), true));
+        context.setLazy("textChannel", () -> trickContext.getTextChannel() == null ? null : createTextChannel(trickContext.getTextChannel(), true));
         context.setFunctionVoid("reply", args -> {
             validateArgs(args, 1);
             trickContext.reply(args.get(0).asString());
@@ -243,11 +349,34 @@ public final class ScriptingUtils {
         });
         context.setFunctionVoid("runTrick", args -> {
             validateArgs(args, 1);
-            Tricks.getTrick(args.get(0).asString()).ifPresent(trick -> trick.execute(trickContext));
+            Tricks.getTrick(args.get(0).asString()).ifPresent(trick -> {
+                if (trick instanceof ScriptTrick scriptTrick) {
+                    runNestedScriptTrick(scriptTrick, trickContext);
+                } else {
+                    Tricks.runTrick(trick, trickContext);
+                }
+            });
         });
         return context;
     }
 
+    /**
+     * Runs a script trick from a script, inline on the evaluating thread, so that it is charged to the budget of the
+     * calling script and its replies keep their order. The nesting depth is limited, as each level holds a context.
+     */
+    private static void runNestedScriptTrick(final ScriptTrick trick, final TrickContext trickContext) {
+        final int depth = NESTED_TRICK_DEPTH.get()[0];
+        if (depth >= MAX_NESTED_TRICK_DEPTH) {
+            throw new ScriptingException("Script tricks cannot be nested more than %s times!".formatted(MAX_NESTED_TRICK_DEPTH));
+        }
+        NESTED_TRICK_DEPTH.get()[0]++;
+        try {
+            trick.executeInline(trickContext);
+        } finally {
+            NESTED_TRICK_DEPTH.get()[0]--;
+        }
+    }
+
     public static ScriptingContext createGuild(Guild guild) {
         final var context = ScriptingContext.of("Guild", guild);
         context.set("name", guild.getName());
@@ -280,14 +409,21 @@ public final class ScriptingUtils {
             final var channel = guild.getEmoteById(args.get(0).asLong());
             return channel == null ? null : createEmote(channel).toProxyObject();
         });
+        // The collections are lazy views, which only create the objects of the elements a script accesses.
+        // The getters optionally take the offset and the amount of the elements of a page.
         context.setFunction("getQuotes", args -> {
             validateArgs(args, 0);
-            return IntStream.range(0, QuoteList.getQuoteSlot()).mapToObj(i -> (IQuote) QuoteList.getQuote(i)).toList();
+            return HostCollections.array(QuoteList.getQuoteSlot(), i -> (IQuote) QuoteList.getQuote(i));
         });
-        context.setFunction("getMembers", a -> guild.getMembers().stream().map(m -> createMember(m).toProxyObject()).toList());
-        context.setFunction("getRoles", a -> guild.getRoles().stream().map(r -> createRole(r).toProxyObject()).toList());
-        context.setFunction("getTextChannels", a -> guild.getTextChannels().stream().map(c -> createTextChannel(c).toProxyObject()).toList());
-        context.setFunction("getEmotes", a -> guild.getEmotes().stream().map(c -> createEmote(c).toProxyObject()).toList());
+        context.setFunction("getMembers", a -> HostCollections.page(guild.getMemberCache(), a, ScriptingUtils::createMember));
+        context.setFunction("getRoles", a -> HostCollections.page(guild.getRoles(), a, ScriptingUtils::createRole));
+        context.setFunction("getTextChannels", a -> HostCollections.page(guild.getTextChannels(), a, ScriptingUtils::createTextChannel));
+        context.setFunction("getEmotes", a -> HostCollections.page(guild.getEmotes(), a, ScriptingUtils::createEmote));
+        context.set("members", HostCollections.iterable(guild.getMemberCache()::asList, ScriptingUtils::createMember));
+        context.set("roles", HostCollections.iterable(guild.getRoleCache()::asList, ScriptingUtils::createRole));
+        context.set("textChannels", HostCollections.iterable(guild.getTextChannelCache()::asList, ScriptingUtils::createTextChannel));
+        context.set("emotes", HostCollections.iterable(guild.getEmoteCache()::asList, ScriptingUtils::createEmote));
+        context.set("quotes", HostCollections.iterable(QuoteList::getQuotes, quote -> (IQuote) quote));
         return context;
     }
 
@@ -316,13 +452,13 @@ public final class ScriptingUtils {
 
     public static ScriptingContext createMember(Member member, boolean canDm) {
         final var context = ScriptingContext.of("Member", member);
-        context.set("user", createUser(member.getUser(), canDm));
+        context.setLazy("user", () -> createUser(member.getUser(), canDm));
         context.set("nickname", member.getNickname());
         context.set("color", member.getColorRaw());
         context.set("timeBoosted", member.getTimeBoosted());
-        context.set("joinTime", Utils.getMemberJoinTime(member));
+        context.setLazy("joinTime", () -> Utils.getMemberJoinTime(member));
         context.setFunction("getStatus", a -> member.getOnlineStatus().getKey());
-        context.set("activities", member.getActivities().stream().map(a -> createActivity(a).toProxyObject()).toArray(ScriptingContext[]::new));
+        context.setLazy("activities", () -> member.getActivities().stream().map(a -> createActivity(a).toProxyObject()).toArray(ScriptingContext.NamedProxyObject[]::new));
         context.setFunction("getGuild", a -> createGuild(member.getGuild()).toProxyObject());
         context.setFunction("getRoles", a -> member.getRoles().stream().sorted(Comparator.comparing(Role::getPositionRaw).reversed())
             .map(r -> createRole(r).toProxyObject()).toList());
@@ -379,18 +515,25 @@ public final class ScriptingUtils {
 
             @Override
             public Object execute(final Value... args) {
+                ScriptExecution.recordHostCall();
                 final var any = function.apply(Arrays.asList(args));
                 if (any instanceof ScriptingContext context) {
                     return context.toProxyObject();
                 } else if (any instanceof List list) {
                     final var objects = new ArrayList<>();
+                    // Contexts (and their proxies) are already counted when created
+                    int created = 0;
                     for (var obj : list) {
                         if (obj instanceof ScriptingContext context) {
                             objects.add(context);
                         } else {
+                            if (!(obj instanceof ProxyObject)) {
+                                created++;
+                            }
                             objects.add(obj);
                         }
                     }
+                    ScriptExecution.recordHostObjects(created);
                     return objects;
                 }
                 return any;
@@ -0,0 +1,204 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.threading;
+
+import com.mcmoddev.mmdbot.MMDBot;
+import net.dv8tion.jda.api.events.GenericEvent;
+
+import javax.annotation.Nonnull;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounds the amount of events of a {@link ListenerGroup} which are waiting for, or being handled by, its executor. <br>
+ * Once the capacity is reached, what happens to new events depends on the {@link EventPriority} the listener
+ * receiving them gives them: {@linkplain EventPriority#LOW low} priority events are dropped, while
+ * {@linkplain EventPriority#CRITICAL critical} ones overflow the capacity and are still submitted to the executor,
+ * so that they are neither lost nor handled on the dispatching thread. <br>
+ * Overflowing is itself bounded to {@value #CRITICAL_CAPACITY_FACTOR} times the capacity, past which critical events
+ * are dropped too, so that a flood of events cannot grow the queue without limit.
+ */
+public final class BoundedEventQueue {
+
+    /**
+     * Every how many dropped events a warning is logged.
+     */
+    private static final int DROP_WARN_INTERVAL = 1000;
+
+    /**
+     * Every how many overflowing events a warning is logged.
+     */
+    private static final int OVERFLOW_WARN_INTERVAL = 1000;
+
+    /**
+     * How many times the capacity critical events may fill the queue up to.
+     */
+    private static final int CRITICAL_CAPACITY_FACTOR = 4;
+
+    private final String name;
+    private final int capacity;
+    private final int criticalCapacity;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final LongAdder queued = new LongAdder();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong overflowed = new AtomicLong();
+
+    /**
+     * Creates a new queue.
+     *
+     * @param name     the name of the queue, used for logging
+     * @param capacity the maximum amount of pending events. A value of {@code 0} or lower means no limit
+     */
+    public BoundedEventQueue(final String name, final int capacity) {
+        this.name = name;
+        this.capacity = capacity <= 0 ? Integer.MAX_VALUE : capacity;
+        this.criticalCapacity = (int) Math.min((long) this.capacity * CRITICAL_CAPACITY_FACTOR, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates an executor which submits the events to the {@code delegate}, as long as this queue is not full.
+     *
+     * @param delegate the executor which handles the events
+     * @param priority the priority of the events submitted to the executor
+     * @return the executor
+     */
+    public EventExecutor bind(final Executor delegate, final EventPriority priority) {
+        return bind(delegate, event -> priority);
+    }
+
+    /**
+     * Creates an executor which submits the events to the {@code delegate}, as long as this queue is not full.
+     *
+     * @param delegate   the executor which handles the events
+     * @param priorities the function giving the priority of each event. Events it gives a {@code null} priority to
+     *                   are not handled by the listener, and are skipped without being queued. Tasks not bound to an
+     *                   event are given the priority of a {@code null} event
+     * @return the executor
+     */
+    public EventExecutor bind(final Executor delegate, final Function<GenericEvent, EventPriority> priorities) {
+        return new EventExecutor() {
+            @Override
+            public void execute(final GenericEvent event, final Runnable task) {
+                submit(delegate, priorities.apply(event), event, task);
+            }
+
+            @Override
+            public void execute(@Nonnull final Runnable command) {
+                submit(delegate, priorities.apply(null), null, command);
+            }
+        };
+    }
+
+    private void submit(final Executor delegate, final EventPriority priority, final GenericEvent event, final Runnable task) {
+        if (priority == null) {
+            return;
+        }
+        final int current = pending.incrementAndGet();
+        if (current > capacity) {
+            if (priority != EventPriority.CRITICAL || current > criticalCapacity) {
+                pending.decrementAndGet();
+                final long total = dropped.incrementAndGet();
+                if (total % DROP_WARN_INTERVAL == 1) {
+                    MMDBot.LOGGER.warn("Event queue {} is full (capacity {}, {} for critical events), dropping {} priority events. {} events dropped so far.",
+                        name, capacity, criticalCapacity, priority.name().toLowerCase(Locale.ROOT), total);
+                }
+                return;
+            }
+            final long total = overflowed.incrementAndGet();
+            if (total % OVERFLOW_WARN_INTERVAL == 1) {
+                MMDBot.LOGGER.warn("Event queue {} is full (capacity {}), queueing critical events over capacity. {} events overflowed so far.",
+                    name, capacity, total);
+            }
+        }
+        queued.increment();
+        final Runnable wrapped = () -> {
+            try {
+                task.run();
+            } finally {
+                pending.decrementAndGet();
+            }
+        };
+        try {
+            if (event != null && delegate instanceof EventExecutor eventExecutor) {
+                eventExecutor.execute(event, wrapped);
+            } else {
+                delegate.execute(wrapped);
+            }
+        } catch (RejectedExecutionException e) {
+            pending.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * {@return the name of this queue}
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * {@return the maximum amount of pending events}
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * {@return the maximum amount of pending events, once critical events overflow the capacity}
+     */
+    public int getCriticalCapacity() {
+        return criticalCapacity;
+    }
+
+    /**
+     * {@return the amount of events currently waiting for, or being handled by, the executor}
+     */
+    public int getPending() {
+        return pending.get();
+    }
+
+    /**
+     * {@return the total amount of events which were queued}
+     */
+    public long getQueued() {
+        return queued.sum();
+    }
+
+    /**
+     * {@return the total amount of events which were dropped because the queue was full}
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * {@return the total amount of critical events which were queued over the capacity because the queue was full}
+     */
+    public long getOverflowed() {
+        return overflowed.get();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.threading;
+
+import javax.annotation.Nonnull;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An executor which runs tasks on a delegate executor, but never has more than a fixed amount of
+ * them running at the same time. <br>
+ * Tasks submitted while the limit is reached are queued, and are started as soon as one of the running tasks
+ * finishes. The submitting thread is never blocked.
+ */
+public final class ConcurrencyLimitedExecutor implements Executor {
+
+    private final Executor delegate;
+    private final int limit;
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger running = new AtomicInteger();
+
+    private ConcurrencyLimitedExecutor(final Executor delegate, final int limit) {
+        this.delegate = delegate;
+        this.limit = limit;
+    }
+
+    /**
+     * Creates an executor which limits the amount of concurrently running tasks on the {@code delegate}.
+     *
+     * @param delegate the executor to run the tasks on
+     * @param limit    the maximum amount of tasks running at the same time. A value of {@code 0} or lower means
+     *                 no limit, in which case the {@code delegate} is returned
+     * @return the executor
+     */
+    public static Executor of(final Executor delegate, final int limit) {
+        if (limit <= 0) {
+            return delegate;
+        }
+        return new ConcurrencyLimitedExecutor(delegate, limit);
+    }
+
+    @Override
+    public void execute(@Nonnull final Runnable command) {
+        queue.add(command);
+        scheduleNext();
+    }
+
+    private void scheduleNext() {
+        while (!queue.isEmpty()) {
+            final int current = running.get();
+            if (current >= limit) {
+                // One of the running tasks will pick the queued ones up once it finishes
+                return;
+            }
+            if (running.compareAndSet(current, current + 1)) {
+                delegate.execute(this::runNext);
+                return;
+            }
+        }
+    }
+
+    private void runNext() {
+        try {
+            final var task = queue.poll();
+            if (task != null) {
+                task.run();
+            }
+        } finally {
+            running.decrementAndGet();
+            scheduleNext();
+        }
+    }
+
+    /**
+     * {@return the amount of tasks waiting for a free slot}
+     */
+    public int getQueued() {
+        return queue.size();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.threading;
+
+import com.mcmoddev.mmdbot.MMDBot;
+
+import java.util.Locale;
+
+/**
+ * The ways in which events can be dispatched to the listeners of a {@link ListenerGroup}.
+ */
+public enum EventDispatchMode {
+
+    /**
+     * Every listener group has a small, fixed pool of platform threads shared by all of its listeners.
+     */
+    FIXED("fixed"),
+
+    /**
+     * Every event runs on its own virtual thread, with the amount of events a single listener may process
+     * concurrently being capped by the {@linkplain com.mcmoddev.mmdbot.core.BotConfig#getEventDispatchConcurrencyCap()
+     * configured limit}. <br>
+     * If the runtime does not support virtual threads, a cached pool of platform threads is used instead.
+     */
+    VIRTUAL("virtual"),
+
+    /**
+     * Every listener group has a set of single-threaded lanes, and each event is dispatched to a lane based on
+     * its guild, channel or user. Events with the same key are handled in order, while the others are handled
+     * concurrently.
+     *
+     * @see KeyedLaneExecutor
+     */
+    KEYED("keyed");
+
+    private final String name;
+
+    EventDispatchMode(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the dispatch mode with the given name, ignoring case.
+     *
+     * @param name the name of the mode
+     * @return the mode, or {@link #FIXED} if no mode with that name exists
+     */
+    public static EventDispatchMode byName(final String name) {
+        for (final var mode : values()) {
+            if (mode.name.equals(name.toLowerCase(Locale.ROOT))) {
+                return mode;
+            }
+        }
+        MMDBot.LOGGER.warn("Unknown event dispatch mode '{}', defaulting to '{}'", name, FIXED);
+        return FIXED;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.threading;
+
+import net.dv8tion.jda.api.events.GenericEvent;
+
+import java.util.concurrent.Executor;
+
+/**
+ * An {@link Executor} which can make use of the event that caused a task to be submitted,
+ * for example in order to decide on which thread the task should run.
+ */
+public interface EventExecutor extends Executor {
+
+    /**
+     * Executes the given task, which handles the given event.
+     *
+     * @param event the event handled by the task
+     * @param task  the task to run
+     */
+    void execute(GenericEvent event, Runnable task);
+}
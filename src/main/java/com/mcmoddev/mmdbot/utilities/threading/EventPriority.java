@@ -0,0 +1,69 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.threading;
+
+import net.dv8tion.jda.api.events.GenericEvent;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The priority of an event for a listener, which determines what happens to the event when the queue of the
+ * listener's {@link ListenerGroup} is full.
+ *
+ * @see BoundedEventQueue
+ */
+public enum EventPriority {
+
+    /**
+     * Events are dropped when the queue is full. Used for listeners which only log things, and for which missing
+     * an event during a raid or a spam wave is acceptable.
+     */
+    LOW,
+
+    /**
+     * Events are not dropped when the queue is full: they are still queued over its capacity, so that they are
+     * handled once the executor catches up. Only once the queue reaches its hard limit are they dropped. Used for
+     * moderation events and interactions.
+     */
+    CRITICAL;
+
+    /**
+     * Creates a function giving this priority to the events of the given types, and a {@code null} priority to any
+     * other event, so that a listener only receives the events it handles.
+     *
+     * @param types the types of the events
+     * @return the function
+     * @see BoundedEventQueue#bind(java.util.concurrent.Executor, Function)
+     */
+    @SafeVarargs
+    public final Function<GenericEvent, EventPriority> forEvents(final Class<? extends GenericEvent>... types) {
+        final var typeList = List.of(types);
+        return event -> {
+            for (final var type : typeList) {
+                if (type.isInstance(event)) {
+                    return this;
+                }
+            }
+            return null;
+        };
+    }
+}
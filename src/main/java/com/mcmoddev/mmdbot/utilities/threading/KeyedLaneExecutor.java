@@ -0,0 +1,122 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.threading;
+
+import com.mcmoddev.mmdbot.utilities.Utils;
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.events.guild.GenericGuildEvent;
+import net.dv8tion.jda.api.events.guild.GuildBanEvent;
+import net.dv8tion.jda.api.events.guild.GuildUnbanEvent;
+import net.dv8tion.jda.api.events.guild.member.GenericGuildMemberEvent;
+import net.dv8tion.jda.api.events.interaction.GenericInteractionCreateEvent;
+import net.dv8tion.jda.api.events.message.GenericMessageEvent;
+import net.dv8tion.jda.api.events.user.GenericUserEvent;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * An executor which spreads events over a fixed amount of single-threaded "lanes", based on a
+ * {@linkplain #keyOf(GenericEvent) key} computed from the event. <br>
+ * Events with the same key always end up in the same lane, so they are handled in the order they were received,
+ * while events with different keys can be handled concurrently.
+ */
+public final class KeyedLaneExecutor implements EventExecutor {
+
+    private final ExecutorService[] lanes;
+
+    /**
+     * Creates a new keyed lane executor.
+     *
+     * @param name  the name of the lanes' threads
+     * @param lanes the amount of lanes
+     */
+    public KeyedLaneExecutor(final String name, final int lanes) {
+        this.lanes = new ExecutorService[Math.max(lanes, 1)];
+        for (int i = 0; i < this.lanes.length; i++) {
+            final var threadName = name + "-" + i;
+            this.lanes[i] = Executors.newSingleThreadExecutor(r -> Utils.setThreadDaemon(new Thread(r, threadName), true));
+        }
+    }
+
+    @Override
+    public void execute(final GenericEvent event, final Runnable task) {
+        execute(keyOf(event), task);
+    }
+
+    /**
+     * Executes a task in the lane of the given key.
+     *
+     * @param key  the key
+     * @param task the task to run
+     */
+    void execute(final long key, final Runnable task) {
+        lanes[laneOf(key)].execute(task);
+    }
+
+    /**
+     * Executes a task which is not bound to an event. Such tasks always run in the first lane.
+     *
+     * @param command the task to run
+     */
+    @Override
+    public void execute(@Nonnull final Runnable command) {
+        lanes[0].execute(command);
+    }
+
+    int laneOf(final long key) {
+        // Snowflakes have their low bits mostly taken by the increment and worker IDs, so mix them first
+        final long mixed = key ^ (key >>> 22) ^ (key >>> 42);
+        return (int) Math.floorMod(mixed, (long) lanes.length);
+    }
+
+    /**
+     * Computes the key of an event. Events are keyed by, in order of preference:
+     * <ul>
+     *     <li>the user, for member, user and interaction events, as well as bans and unbans;</li>
+     *     <li>the channel, for message events (including reactions);</li>
+     *     <li>the guild, for any other guild event.</li>
+     * </ul>
+     * Any other event has the key {@code 0}.
+     *
+     * @param event the event
+     * @return the key of the event
+     */
+    public static long keyOf(final GenericEvent event) {
+        if (event instanceof GenericGuildMemberEvent memberEvent) {
+            return memberEvent.getUser().getIdLong();
+        } else if (event instanceof GenericUserEvent userEvent) {
+            return userEvent.getUser().getIdLong();
+        } else if (event instanceof GuildBanEvent banEvent) {
+            return banEvent.getUser().getIdLong();
+        } else if (event instanceof GuildUnbanEvent unbanEvent) {
+            return unbanEvent.getUser().getIdLong();
+        } else if (event instanceof GenericInteractionCreateEvent interactionEvent) {
+            return interactionEvent.getUser().getIdLong();
+        } else if (event instanceof GenericMessageEvent messageEvent) {
+            return messageEvent.getChannel().getIdLong();
+        } else if (event instanceof GenericGuildEvent guildEvent) {
+            return guildEvent.getGuild().getIdLong();
+        }
+        return 0;
+    }
+}
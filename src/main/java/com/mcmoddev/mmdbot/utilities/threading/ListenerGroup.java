@@ -0,0 +1,182 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.threading;
+
+import com.mcmoddev.mmdbot.MMDBot;
+import com.mcmoddev.mmdbot.utilities.ThreadedEventListener;
+import com.mcmoddev.mmdbot.utilities.Utils;
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.hooks.EventListener;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * A group of event listeners sharing the same dispatching resources. <br>
+ * Listeners are {@linkplain #wrap(EventListener) wrapped} in a {@link ThreadedEventListener}, whose executor depends
+ * on the {@link EventDispatchMode} configured at the moment the listener is wrapped.
+ * As such, groups can be created before the config is loaded, but listeners should only be wrapped afterwards.
+ * <p>
+ * In the {@link EventDispatchMode#KEYED keyed} mode, all the listeners of a group share the same lanes. This means
+ * that listeners whose state depends on each other (such as role persistence and role logging) should be in the same
+ * group, in order for the events of the same user to be handled in order.
+ * <p>
+ * The amount of pending events of a group is bounded by a {@link BoundedEventQueue}, whose capacity is read from
+ * the {@code event_dispatch.queue_capacity} config table.
+ */
+public final class ListenerGroup {
+
+    private static final List<ListenerGroup> GROUPS = new CopyOnWriteArrayList<>();
+
+    private final String name;
+    private final int threads;
+
+    /**
+     * The thread pool used by the {@link EventDispatchMode#FIXED fixed} mode, lazily created.
+     */
+    private volatile Executor fixedPool;
+
+    /**
+     * The lanes used by the {@link EventDispatchMode#KEYED keyed} mode, lazily created.
+     */
+    private volatile KeyedLaneExecutor lanes;
+
+    /**
+     * The queue bounding the pending events of this group, lazily created.
+     */
+    private volatile BoundedEventQueue queue;
+
+    private ListenerGroup(final String name, final int threads) {
+        this.name = name;
+        this.threads = threads;
+    }
+
+    /**
+     * Creates a new listener group.
+     *
+     * @param name    the name of the group, used for naming its threads
+     * @param threads the amount of threads the group uses in the {@link EventDispatchMode#FIXED fixed} mode
+     * @return the group
+     */
+    public static ListenerGroup create(final String name, final int threads) {
+        final var group = new ListenerGroup(name, threads);
+        GROUPS.add(group);
+        return group;
+    }
+
+    /**
+     * {@return all the created listener groups}
+     */
+    public static List<ListenerGroup> getGroups() {
+        return List.copyOf(GROUPS);
+    }
+
+    /**
+     * Wraps the listener so that it receives the events on this group's threads, with a
+     * {@link EventPriority#LOW low} priority.
+     *
+     * @param listener the listener to wrap
+     * @return the wrapped listener
+     */
+    public EventListener wrap(final EventListener listener) {
+        return wrap(listener, EventPriority.LOW);
+    }
+
+    /**
+     * Wraps the listener so that it receives the events on this group's threads.
+     *
+     * @param listener the listener to wrap
+     * @param priority the priority of the listener, used when the group's queue is full
+     * @return the wrapped listener
+     */
+    public EventListener wrap(final EventListener listener, final EventPriority priority) {
+        return wrap(listener, event -> priority);
+    }
+
+    /**
+     * Wraps the listener so that it receives the events on this group's threads, with a priority depending on the
+     * event. <br>
+     * Events the function gives a {@code null} priority to are skipped without being queued, which avoids queueing
+     * events the listener does not handle, see {@link EventPriority#forEvents(Class[])}.
+     *
+     * @param listener   the listener to wrap
+     * @param priorities the function giving the priority of each event, used when the group's queue is full
+     * @return the wrapped listener
+     */
+    public EventListener wrap(final EventListener listener, final Function<GenericEvent, EventPriority> priorities) {
+        return new ThreadedEventListener(listener, getQueue().bind(createExecutor(), priorities));
+    }
+
+    private Executor createExecutor() {
+        final var config = MMDBot.getConfig();
+        return switch (config.getEventDispatchMode()) {
+            case FIXED -> getFixedPool();
+            case VIRTUAL -> ConcurrencyLimitedExecutor.of(VirtualThreads.executor(), config.getEventDispatchConcurrencyCap());
+            case KEYED -> getLanes(config.getEventDispatchLanes());
+        };
+    }
+
+    private Executor getFixedPool() {
+        if (fixedPool == null) {
+            synchronized (this) {
+                if (fixedPool == null) {
+                    fixedPool = Executors.newFixedThreadPool(threads, r -> Utils.setThreadDaemon(new Thread(r, name), true));
+                }
+            }
+        }
+        return fixedPool;
+    }
+
+    private KeyedLaneExecutor getLanes(final int amount) {
+        if (lanes == null) {
+            synchronized (this) {
+                if (lanes == null) {
+                    lanes = new KeyedLaneExecutor(name, amount);
+                }
+            }
+        }
+        return lanes;
+    }
+
+    /**
+     * {@return the queue bounding the pending events of this group}
+     */
+    public BoundedEventQueue getQueue() {
+        if (queue == null) {
+            synchronized (this) {
+                if (queue == null) {
+                    queue = new BoundedEventQueue(name, MMDBot.getConfig().getEventQueueCapacity(name));
+                }
+            }
+        }
+        return queue;
+    }
+
+    /**
+     * {@return the name of this group}
+     */
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.threading;
+
+import com.mcmoddev.mmdbot.MMDBot;
+import com.mcmoddev.mmdbot.utilities.Utils;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Provides access to a virtual-thread-per-task executor. <br>
+ * The bot is compiled against a Java version which does not have virtual threads, so the executor is looked up
+ * reflectively, and a cached pool of daemon platform threads is used if the runtime does not support them.
+ */
+final class VirtualThreads {
+
+    private static final ExecutorService EXECUTOR;
+
+    static {
+        ExecutorService executor;
+        try {
+            executor = (ExecutorService) MethodHandles.publicLookup()
+                .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class))
+                .invoke();
+        } catch (Throwable e) {
+            MMDBot.LOGGER.warn("Virtual threads are not supported by this runtime, falling back to a cached thread pool for event dispatching.");
+            executor = Executors.newCachedThreadPool(r -> Utils.setThreadDaemon(new Thread(r, "VirtualEventListener"), true));
+        }
+        EXECUTOR = executor;
+    }
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * {@return the shared virtual-thread-per-task executor}
+     */
+    static Executor executor() {
+        return EXECUTOR;
+    }
+}
@@ -66,6 +66,12 @@ public class EmbedTrick implements Trick {
      */
     private final List<MessageEmbed.Field> fields;
 
+    /**
+     * The message of the trick, built when the trick is first executed, and not serialized. Editing a trick replaces
+     * it, so the message never needs to be invalidated.
+     */
+    private transient volatile Message message;
+
     /**
      * Instantiates a new Embed trick.
      *
@@ -96,15 +102,19 @@ public class EmbedTrick implements Trick {
 
     @Override
     public void execute(final TrickContext context) {
-        EmbedBuilder builder = new EmbedBuilder()
-            .setTitle(getTitle())
-            .setDescription(getDescription())
-            .setColor(color);
-        for (MessageEmbed.Field field : getFields()) {
-            builder.addField(field);
+        var message = this.message;
+        if (message == null) {
+            EmbedBuilder builder = new EmbedBuilder()
+                .setTitle(getTitle())
+                .setDescription(getDescription())
+                .setColor(color);
+            for (MessageEmbed.Field field : getFields()) {
+                builder.addField(field);
+            }
+            message = this.message = new MessageBuilder(builder.build())
+                .setAllowedMentions(Set.of(Message.MentionType.CHANNEL, Message.MentionType.EMOTE)).build();
         }
-        context.replyWithMessage(new MessageBuilder(builder.build())
-            .setAllowedMentions(Set.of(Message.MentionType.CHANNEL, Message.MentionType.EMOTE)).build());
+        context.replyWithMessage(message);
     }
 
     /**
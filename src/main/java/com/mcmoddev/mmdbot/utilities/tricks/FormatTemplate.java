@@ -0,0 +1,145 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.tricks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.MissingFormatArgumentException;
+
+/**
+ * A format string compiled into a list of segments, so that formatting it with string arguments is a single
+ * {@link StringBuilder} pass, instead of parsing it on each call as {@link String#format(String, Object...)} does. <br>
+ * Only the {@code %s}, {@code %n$s}, {@code %%} and {@code %n} specifiers are compiled, as they are the ones tricks
+ * use. Templates with other specifiers are formatted with {@link String#format(String, Object...)}.
+ */
+final class FormatTemplate {
+
+    private final String format;
+
+    /**
+     * The segments of the template: either literal strings, or the indexes of the arguments, or {@code null} if
+     * the template cannot be compiled.
+     */
+    private final Object[] segments;
+    private final boolean hasArguments;
+
+    private FormatTemplate(final String format, final Object[] segments) {
+        this.format = format;
+        this.segments = segments;
+        var arguments = segments == null;
+        if (segments != null) {
+            for (final var segment : segments) {
+                arguments |= segment instanceof Integer;
+            }
+        }
+        this.hasArguments = arguments;
+    }
+
+    /**
+     * Compiles a format string.
+     *
+     * @param format the format string
+     * @return the template
+     */
+    static FormatTemplate compile(final String format) {
+        final var segments = new ArrayList<>();
+        final var literal = new StringBuilder();
+        int nextIndex = 0;
+        int i = 0;
+        while (i < format.length()) {
+            final char c = format.charAt(i);
+            if (c != '%') {
+                literal.append(c);
+                i++;
+                continue;
+            }
+            if (i + 1 >= format.length()) {
+                return new FormatTemplate(format, null);
+            }
+            final char next = format.charAt(i + 1);
+            if (next == '%') {
+                literal.append('%');
+                i += 2;
+            } else if (next == 'n') {
+                literal.append(System.lineSeparator());
+                i += 2;
+            } else if (next == 's') {
+                flush(literal, segments);
+                segments.add(nextIndex++);
+                i += 2;
+            } else {
+                // Explicit argument index (%1$s)
+                int end = i + 1;
+                while (end < format.length() && Character.isDigit(format.charAt(end))) {
+                    end++;
+                }
+                if (end == i + 1 || end + 1 >= format.length() || format.charAt(end) != '$'
+                    || format.charAt(end + 1) != 's' || format.charAt(i + 1) == '0' || end - i > 10) {
+                    return new FormatTemplate(format, null);
+                }
+                flush(literal, segments);
+                segments.add(Integer.parseInt(format, i + 1, end, 10) - 1);
+                i = end + 2;
+            }
+        }
+        flush(literal, segments);
+        return new FormatTemplate(format, segments.toArray());
+    }
+
+    private static void flush(final StringBuilder literal, final List<Object> segments) {
+        if (!literal.isEmpty()) {
+            segments.add(literal.toString());
+            literal.setLength(0);
+        }
+    }
+
+    /**
+     * {@return whether the result of this template depends on the arguments}
+     */
+    boolean hasArguments() {
+        return hasArguments;
+    }
+
+    /**
+     * Formats this template with arguments.
+     *
+     * @param args the arguments
+     * @return the formatted string
+     * @throws MissingFormatArgumentException if the template refers to an argument which is not given
+     */
+    String format(final String... args) {
+        if (segments == null) {
+            return String.format(format, (Object[]) args);
+        }
+        final var builder = new StringBuilder(format.length() + 16);
+        for (final var segment : segments) {
+            if (segment instanceof Integer index) {
+                if (index >= args.length) {
+                    throw new MissingFormatArgumentException("Format specifier '%" + (index + 1) + "$s'");
+                }
+                builder.append(args[index]);
+            } else {
+                builder.append((String) segment);
+            }
+        }
+        return builder.toString();
+    }
+}
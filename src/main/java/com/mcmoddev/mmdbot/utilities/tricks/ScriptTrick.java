@@ -21,12 +21,26 @@
 package com.mcmoddev.mmdbot.utilities.tricks;
 
 import com.jagrosh.jdautilities.command.SlashCommandEvent;
+import com.mcmoddev.mmdbot.modules.commands.community.CmdEvaluate;
+import com.mcmoddev.mmdbot.utilities.scripting.ScriptExecution;
 import com.mcmoddev.mmdbot.utilities.scripting.ScriptingUtils;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageChannel;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import net.dv8tion.jda.api.entities.TextChannel;
+import net.dv8tion.jda.api.entities.User;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.OptionData;
 
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.mcmoddev.mmdbot.utilities.Utils.getOrEmpty;
 
@@ -54,10 +68,49 @@ public final class ScriptTrick implements Trick {
 
     @Override
     public void execute(final TrickContext context) {
+        final var costContext = new CostReportingContext(context);
+        final var scriptContext = ScriptingUtils.createTrickContext(costContext);
+        // The execution time is measured on the evaluator thread, so that it does not include the time spent queued
+        final var elapsed = new AtomicLong(-1);
+        ScriptingUtils.getScheduler().submit(context.getUser().getIdLong(), () -> {
+                final long start = System.nanoTime();
+                try {
+                    ScriptingUtils.evaluate(script, scriptContext, true);
+                } finally {
+                    elapsed.set(System.nanoTime() - start);
+                }
+            })
+            .whenComplete((execution, e) -> {
+                if (elapsed.get() < 0) {
+                    TrickUsage.recordRejected(this);
+                } else {
+                    TrickUsage.record(this, elapsed.get(), e != null);
+                }
+                costContext.complete(e == null ? execution : null);
+                if (e instanceof CancellationException || e instanceof RejectedExecutionException) {
+                    context.reply(e.getMessage());
+                } else if (e != null) {
+                    context.reply("There was an exception executing the script: %s".formatted(e.getLocalizedMessage()));
+                }
+            });
+    }
+
+    /**
+     * Executes this trick on the current thread, as part of the script being evaluated on it (such as when a script
+     * trick runs another one). The trick is evaluated within the budget of the calling script, and its replies are
+     * sent in order with the ones of the calling script.
+     *
+     * @param context the context to execute the trick in
+     * @throws ScriptingUtils.ScriptingException if the script of the trick failed
+     */
+    public void executeInline(final TrickContext context) {
+        final long start = System.nanoTime();
+        boolean failed = true;
         try {
-            ScriptingUtils.evaluate(script, ScriptingUtils.createTrickContext(context));
-        } catch (ScriptingUtils.ScriptingException e) {
-            context.reply("There was an exception executing the script: %s".formatted(e.getLocalizedMessage()));
+            ScriptingUtils.evaluate(script, ScriptingUtils.createTrickContext(context), true);
+            failed = false;
+        } finally {
+            TrickUsage.record(this, System.nanoTime() - start, failed);
         }
     }
 
@@ -66,6 +119,11 @@ public final class ScriptTrick implements Trick {
         return script;
     }
 
+    /**
+     * The type of script tricks. The script of a trick is parsed when the trick is created, so that syntax errors are
+     * reported immediately (the creation methods throw a {@link ScriptingUtils.ScriptingException}), and the first
+     * execution of the trick does not have to parse it.
+     */
     public static class Type implements TrickType<ScriptTrick> {
 
         @Override
@@ -81,6 +139,7 @@ public final class ScriptTrick implements Trick {
                 script = script.substring(script.indexOf("```js") + 5);
                 script = script.substring(0, script.lastIndexOf("```"));
             }
+            ScriptingUtils.precompile(script);
             return new ScriptTrick(Arrays.asList(argsArray[0].split(" ")), script);
         }
 
@@ -94,7 +153,102 @@ public final class ScriptTrick implements Trick {
 
         @Override
         public ScriptTrick createFromCommand(final SlashCommandEvent event) {
-            return new ScriptTrick(Arrays.asList(getOrEmpty(event, "names").split(" ")), getOrEmpty(event, "script"));
+            final var script = getOrEmpty(event, "script");
+            ScriptingUtils.precompile(script);
+            return new ScriptTrick(Arrays.asList(getOrEmpty(event, "names").split(" ")), script);
+        }
+    }
+
+    /**
+     * A context which holds back the last text reply of a script until the script finishes, so that the cost of the
+     * execution can be appended to it. Replies made after the script finished (e.g. by tricks it ran) are sent directly.
+     */
+    private static final class CostReportingContext implements TrickContext {
+
+        private final TrickContext delegate;
+        private String pending;
+        private boolean completed;
+
+        private CostReportingContext(final TrickContext delegate) {
+            this.delegate = delegate;
+        }
+
+        /**
+         * Sends the held back reply, if any.
+         *
+         * @param execution the finished execution, or {@code null} if the script failed
+         */
+        synchronized void complete(@Nullable final ScriptExecution execution) {
+            completed = true;
+            if (pending != null) {
+                delegate.reply(execution == null ? pending : CmdEvaluate.appendCost(pending, execution));
+                pending = null;
+            }
+        }
+
+        private void flush() {
+            if (pending != null) {
+                delegate.reply(pending);
+                pending = null;
+            }
+        }
+
+        @Nullable
+        @Override
+        public Member getMember() {
+            return delegate.getMember();
+        }
+
+        @Nonnull
+        @Override
+        public User getUser() {
+            return delegate.getUser();
+        }
+
+        @Nonnull
+        @Override
+        public MessageChannel getChannel() {
+            return delegate.getChannel();
+        }
+
+        @Nullable
+        @Override
+        public TextChannel getTextChannel() {
+            return delegate.getTextChannel();
+        }
+
+        @Nullable
+        @Override
+        public Guild getGuild() {
+            return delegate.getGuild();
+        }
+
+        @Nonnull
+        @Override
+        public String[] getArgs() {
+            return delegate.getArgs();
+        }
+
+        @Override
+        public synchronized void reply(final String content) {
+            if (completed) {
+                delegate.reply(content);
+            } else {
+                flush();
+                pending = content;
+            }
+        }
+
+        @Override
+        public synchronized void replyEmbeds(final MessageEmbed... embeds) {
+            flush();
+            delegate.replyEmbeds(embeds);
+        }
+
+        @Override
+        public synchronized void replyWithMessage(final Message message) {
+            flush();
+            delegate.replyWithMessage(message);
         }
     }
 }
@@ -49,6 +49,14 @@ public class StringTrick implements Trick {
      */
     private final String body;
 
+    /**
+     * The compiled template of the body, and the message of the trick if it does not take arguments. <br>
+     * They are computed when the trick is first executed, and are not serialized. Editing a trick replaces it, so
+     * they never need to be invalidated.
+     */
+    private transient volatile FormatTemplate template;
+    private transient volatile Message message;
+
     /**
      * Instantiates a new String trick.
      *
@@ -72,8 +80,24 @@ public class StringTrick implements Trick {
 
     @Override
     public void execute(final TrickContext context) {
-        context.replyWithMessage(new MessageBuilder(String.format(getBody(), (Object[]) context.getArgs()))
-            .setAllowedMentions(Set.of(Message.MentionType.CHANNEL, Message.MentionType.EMOTE)).build());
+        var template = this.template;
+        if (template == null) {
+            template = this.template = FormatTemplate.compile(getBody());
+        }
+        if (template.hasArguments()) {
+            context.replyWithMessage(createMessage(template.format(context.getArgs())));
+            return;
+        }
+        var message = this.message;
+        if (message == null) {
+            message = this.message = createMessage(template.format());
+        }
+        context.replyWithMessage(message);
+    }
+
+    private static Message createMessage(final String content) {
+        return new MessageBuilder(content)
+            .setAllowedMentions(Set.of(Message.MentionType.CHANNEL, Message.MentionType.EMOTE)).build();
     }
 
     /**
@@ -0,0 +1,206 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.tricks;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable snapshot of the registered tricks and of their index, rebuilt whenever a trick is added, removed or
+ * replaced. <br>
+ * <ul>
+ *     <li>Tricks are looked up by any of their names in a hash map.</li>
+ *     <li>The main names of the tricks are stored in a prefix trie, used to autocomplete trick names.</li>
+ *     <li>All the names of the tricks are stored in a {@link TrigramIndex}, used to suggest tricks for mistyped
+ *     names.</li>
+ * </ul>
+ */
+final class TrickIndex {
+
+    private final List<Trick> tricks;
+    private final Map<String, Trick> byName;
+    private final Node root;
+    private final TrigramIndex trigrams;
+
+    private TrickIndex(final List<Trick> tricks, final Map<String, Trick> byName, final Node root,
+                       final TrigramIndex trigrams) {
+        this.tricks = tricks;
+        this.byName = byName;
+        this.root = root;
+        this.trigrams = trigrams;
+    }
+
+    /**
+     * Builds the index of the given tricks. If several tricks share a name, the first one is indexed for it.
+     *
+     * @param tricks the tricks
+     * @return the index
+     */
+    static TrickIndex of(final List<Trick> tricks) {
+        return of(tricks, null);
+    }
+
+    /**
+     * Builds the index of the given tricks, updating the trigram index of a previous index with the names which
+     * changed, instead of indexing all the names again.
+     *
+     * @param tricks   the tricks
+     * @param previous the previous index, or {@code null} to build a new one
+     * @return the index
+     */
+    static TrickIndex of(final List<Trick> tricks, @Nullable final TrickIndex previous) {
+        final var byName = new HashMap<String, Trick>();
+        final var root = new Node.Builder();
+        for (final var trick : tricks) {
+            for (final var name : trick.getNames()) {
+                byName.putIfAbsent(name, trick);
+            }
+            if (!trick.getNames().isEmpty()) {
+                root.insert(trick.getNames().get(0));
+            }
+        }
+        final TrigramIndex trigrams;
+        if (previous == null) {
+            trigrams = TrigramIndex.EMPTY.withChanges(List.of(), byName.keySet());
+        } else {
+            final var removed = previous.byName.keySet().stream().filter(name -> !byName.containsKey(name)).toList();
+            final var added = byName.keySet().stream().filter(name -> !previous.byName.containsKey(name)).toList();
+            trigrams = previous.trigrams.withChanges(removed, added);
+        }
+        return new TrickIndex(List.copyOf(tricks), byName, root.build(), trigrams);
+    }
+
+    /**
+     * {@return the tricks, as an unmodifiable list}
+     */
+    List<Trick> tricks() {
+        return tricks;
+    }
+
+    /**
+     * Gets a trick by any of its names.
+     *
+     * @param name the name
+     * @return the trick, or {@code null} if no trick has the name
+     */
+    Trick get(final String name) {
+        return byName.get(name);
+    }
+
+    /**
+     * Gets the main names of the tricks which start with a prefix, in lexicographic order.
+     *
+     * @param prefix the prefix
+     * @param limit  the maximum amount of names
+     * @return the names
+     */
+    List<String> getNamesStartingWith(final String prefix, final int limit) {
+        var node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        final var names = new ArrayList<String>(Math.min(limit, 16));
+        if (node != null) {
+            node.collect(names, limit);
+        }
+        return names;
+    }
+
+    /**
+     * Gets the main names of the tricks whose names are the most similar to a possibly mistyped name, from the
+     * most similar to the least similar.
+     *
+     * @param name  the name
+     * @param limit the maximum amount of names
+     * @return the main names of the tricks
+     */
+    List<String> getSimilarNames(final String name, final int limit) {
+        // Fetch more names than needed, as several names may belong to the same trick
+        return trigrams.getSimilar(name, limit * 2).stream()
+            .map(similar -> byName.get(similar).getNames().get(0))
+            .distinct()
+            .limit(limit)
+            .toList();
+    }
+
+    /**
+     * A node of the trie, whose children are sorted by their character.
+     *
+     * @param name     the name ending at this node, or {@code null} if no name ends at it
+     * @param chars    the characters of the children
+     * @param children the children
+     */
+    private record Node(String name, char[] chars, Node[] children) {
+
+        Node child(final char c) {
+            final int index = Arrays.binarySearch(chars, c);
+            return index < 0 ? null : children[index];
+        }
+
+        void collect(final List<String> names, final int limit) {
+            if (names.size() >= limit) {
+                return;
+            }
+            if (name != null) {
+                names.add(name);
+            }
+            for (final var child : children) {
+                if (names.size() >= limit) {
+                    return;
+                }
+                child.collect(names, limit);
+            }
+        }
+
+        private static final class Builder {
+            private String name;
+            private final Map<Character, Builder> children = new HashMap<>();
+
+            void insert(final String word) {
+                var node = this;
+                for (int i = 0; i < word.length(); i++) {
+                    node = node.children.computeIfAbsent(word.charAt(i), c -> new Builder());
+                }
+                if (node.name == null) {
+                    node.name = word;
+                }
+            }
+
+            Node build() {
+                final var chars = new char[children.size()];
+                int i = 0;
+                for (final var c : children.keySet()) {
+                    chars[i++] = c;
+                }
+                Arrays.sort(chars);
+                final var built = new Node[chars.length];
+                for (int j = 0; j < chars.length; j++) {
+                    built[j] = children.get(chars[j]).build();
+                }
+                return new Node(name, chars, built);
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.tricks;
+
+import com.mcmoddev.mmdbot.MMDBot;
+import com.mcmoddev.mmdbot.utilities.database.dao.TrickStats;
+import com.mcmoddev.mmdbot.utilities.metrics.LatencyHistogram;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the usage statistics of the tricks: how often they are executed, how long they take, how often they fail
+ * and when they were last used. <br>
+ * Executions only update striped counters and a {@link LatencyHistogram}, so recording never contends between
+ * threads, and never touches the database. The statistics are {@linkplain #flush() flushed} to the database
+ * periodically, by the {@link com.mcmoddev.mmdbot.core.TaskScheduler}. <br>
+ * Invocation and failure counts are kept across restarts, while the latency percentiles are those of the current
+ * run once the trick has been executed in it, as histograms are not stored.
+ */
+public final class TrickUsage {
+
+    /**
+     * The statistics of the tricks, keyed by their main name, or {@code null} if they are not loaded yet.
+     */
+    private static volatile Map<String, Entry> entries;
+
+    private TrickUsage() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Records an execution of a trick.
+     *
+     * @param trick  the trick
+     * @param nanos  the time the execution took, in nanoseconds
+     * @param failed if the execution failed
+     */
+    public static void record(final Trick trick, final long nanos, final boolean failed) {
+        final var entry = entry(trick);
+        entry.invocations.increment();
+        if (failed) {
+            entry.failures.increment();
+        }
+        entry.latency.record(nanos);
+        entry.lastUsed = Instant.now();
+        entry.dirty = true;
+    }
+
+    /**
+     * Records an execution of a trick which failed before running, for instance because the evaluator queue
+     * was full. The execution is not counted in the latencies.
+     *
+     * @param trick the trick
+     */
+    public static void recordRejected(final Trick trick) {
+        final var entry = entry(trick);
+        entry.invocations.increment();
+        entry.failures.increment();
+        entry.lastUsed = Instant.now();
+        entry.dirty = true;
+    }
+
+    /**
+     * Gets the statistics of all tricks which were executed at least once.
+     *
+     * @param comparator the order of the statistics
+     * @return the statistics
+     */
+    public static List<Stats> getStats(final Comparator<Stats> comparator) {
+        final var stats = new ArrayList<Stats>();
+        entries().forEach((name, entry) -> stats.add(entry.snapshot(name)));
+        stats.sort(comparator);
+        return stats;
+    }
+
+    /**
+     * Forgets the statistics of a removed trick.
+     *
+     * @param trick the trick
+     */
+    public static void forget(final Trick trick) {
+        final var name = trick.getNames().get(0);
+        if (entries().remove(name) != null) {
+            MMDBot.database().useExtension(TrickStats.class, db -> db.delete(name));
+        }
+    }
+
+    /**
+     * Writes the statistics of the tricks executed since the last flush to the database.
+     */
+    public static void flush() {
+        final var toWrite = new ArrayList<TrickStats.Stats>();
+        entries().forEach((name, entry) -> {
+            if (entry.dirty) {
+                // Cleared before reading, so that an execution recorded concurrently is written by the next flush
+                entry.dirty = false;
+                toWrite.add(entry.snapshot(name).toStored());
+            }
+        });
+        if (!toWrite.isEmpty()) {
+            MMDBot.database().useExtension(TrickStats.class, db -> db.useTransaction(t -> t.insert(toWrite)));
+        }
+    }
+
+    private static Entry entry(final Trick trick) {
+        return entries().computeIfAbsent(trick.getNames().get(0), k -> new Entry(null));
+    }
+
+    private static Map<String, Entry> entries() {
+        var map = entries;
+        if (map == null) {
+            synchronized (TrickUsage.class) {
+                map = entries;
+                if (map == null) {
+                    map = new ConcurrentHashMap<>();
+                    for (final var stored : MMDBot.database().withExtension(TrickStats.class, TrickStats::getAll)) {
+                        map.put(stored.name(), new Entry(stored));
+                    }
+                    entries = map;
+                }
+            }
+        }
+        return map;
+    }
+
+    /**
+     * The statistics of a trick.
+     *
+     * @param name        the main name of the trick
+     * @param invocations the amount of times the trick was executed
+     * @param failures    the amount of executions which failed
+     * @param p50         the median execution time
+     * @param p99         the 99th percentile of the execution time
+     * @param lastUsed    the time the trick was last executed at
+     */
+    public record Stats(String name, long invocations, long failures, Duration p50, Duration p99,
+                        @Nullable Instant lastUsed) {
+
+        /**
+         * Sorts the statistics from the most used trick to the least used one.
+         */
+        public static final Comparator<Stats> BY_USAGE = Comparator.comparingLong(Stats::invocations).reversed();
+
+        /**
+         * Sorts the statistics from the slowest trick to the fastest one, by 99th percentile.
+         */
+        public static final Comparator<Stats> BY_LATENCY = Comparator.comparing(Stats::p99).reversed();
+
+        /**
+         * Sorts the statistics from the trick which failed the most to the one which failed the least.
+         */
+        public static final Comparator<Stats> BY_FAILURES = Comparator.comparingLong(Stats::failures).reversed();
+
+        private TrickStats.Stats toStored() {
+            return new TrickStats.Stats(name, invocations, failures, p50.toNanos(), p99.toNanos(), lastUsed);
+        }
+    }
+
+    private static final class Entry {
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final long storedInvocations;
+        private final long storedFailures;
+        private final Duration storedP50;
+        private final Duration storedP99;
+        private volatile Instant lastUsed;
+        private volatile boolean dirty;
+
+        private Entry(@Nullable final TrickStats.Stats stored) {
+            this.storedInvocations = stored == null ? 0 : stored.invocations();
+            this.storedFailures = stored == null ? 0 : stored.failures();
+            this.storedP50 = stored == null ? Duration.ZERO : Duration.ofNanos(stored.p50());
+            this.storedP99 = stored == null ? Duration.ZERO : Duration.ofNanos(stored.p99());
+            this.lastUsed = stored == null ? null : stored.lastUsed();
+        }
+
+        private Stats snapshot(final String name) {
+            final boolean measured = latency.getCount() > 0;
+            return new Stats(name, storedInvocations + invocations.sum(), storedFailures + failures.sum(),
+                measured ? latency.getPercentile(50) : storedP50, measured ? latency.getPercentile(99) : storedP99,
+                lastUsed);
+        }
+    }
+}
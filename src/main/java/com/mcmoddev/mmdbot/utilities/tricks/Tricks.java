@@ -32,42 +32,41 @@ import com.mcmoddev.mmdbot.modules.commands.CommandModule;
 import com.mcmoddev.mmdbot.modules.commands.community.server.DeletableCommand;
 import com.mcmoddev.mmdbot.modules.commands.community.server.tricks.CmdRunTrick;
 import com.mcmoddev.mmdbot.modules.commands.community.server.tricks.CmdRunTrickSeparated;
+import com.mcmoddev.mmdbot.utilities.database.dao.Tricks.TrickData;
+import com.mcmoddev.mmdbot.utilities.scripting.ScriptingUtils;
 import com.mcmoddev.mmdbot.utilities.tricks.Trick.TrickType;
+import org.jdbi.v3.core.extension.ExtensionCallback;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
+import java.io.Reader;
 import java.lang.reflect.Type;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-
-//TODO: Migrate to a SQLite DB with PR #45
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 /**
- * The Tricks Module.
+ * The Tricks Module. <br>
+ * Tricks are stored in the database, one row per trick, so that adding, removing or replacing a trick only writes
+ * that trick.
  *
  * @author Will BL
  */
 public final class Tricks {
 
     /**
-     * The storage location for the tricks file.
+     * The GSON instance used to read the legacy tricks file, whose tricks are wrapped with their class.
      */
-    private static final String TRICK_STORAGE_PATH = "mmdbot_tricks.json";
+    private static final Gson GSON;
 
     /**
-     * The GSON instance.
+     * The GSON instance used to serialize the data of the tricks stored in the database.
      */
-    private static final Gson GSON;
+    private static final Gson DATA_GSON = new Gson();
 
     /**
      * All registered {@link TrickType}s.
@@ -75,9 +74,16 @@ public final class Tricks {
     private static final Map<String, Trick.TrickType<?>> TRICK_TYPES = new HashMap<>();
 
     /**
-     * All registered tricks.
+     * The snapshot of the registered tricks, or {@code null} if they are not loaded yet. <br>
+     * Snapshots are immutable: writers build a new snapshot and publish it, so readers never need to lock, and
+     * never see a partially updated registry.
+     */
+    private static final AtomicReference<TrickIndex> REGISTRY = new AtomicReference<>();
+
+    /**
+     * The lock serialising the writers of the registry.
      */
-    private static @Nullable List<Trick> tricks = null;
+    private static final Object WRITE_LOCK = new Object();
 
     /**
      * Gets a trick by name.
@@ -86,30 +92,124 @@ public final class Tricks {
      * @return an optional of the trick, or empty if no such trick exists
      */
     public static Optional<Trick> getTrick(final String name) {
-        return getTricks().stream().filter(trick -> trick.getNames().contains(name)).findAny();
+        return Optional.ofNullable(registry().get(name));
+    }
+
+    /**
+     * Gets a trick which has any of the given names.
+     *
+     * @param names the names
+     * @return an optional of the trick, or empty if no trick has any of the names
+     */
+    public static Optional<Trick> getTrickWithAnyName(final List<String> names) {
+        return names.stream().map(Tricks::getTrick).flatMap(Optional::stream).findFirst();
+    }
+
+    /**
+     * Gets the main names of the tricks which start with a prefix, in lexicographic order.
+     *
+     * @param prefix the prefix
+     * @param limit  the maximum amount of names
+     * @return the names
+     */
+    public static List<String> getTrickNamesStartingWith(final String prefix, final int limit) {
+        return registry().getNamesStartingWith(prefix, limit);
+    }
+
+    /**
+     * Gets the main names of the tricks whose names are the most similar to a possibly mistyped name, from the
+     * most similar to the least similar.
+     *
+     * @param name  the name
+     * @param limit the maximum amount of names
+     * @return the main names of the tricks
+     */
+    public static List<String> getSimilarTrickNames(final String name, final int limit) {
+        return registry().getSimilarNames(name, limit);
     }
 
     /**
      * Gets all tricks.
      *
-     * @return a list of the tricks
+     * @return an unmodifiable snapshot of the tricks
      */
     public static List<Trick> getTricks() {
-        if (tricks == null) {
-            final File file = new File(TRICK_STORAGE_PATH);
-            if (!file.exists()) {
-                tricks = new ArrayList<>();
-            }
-            try (InputStreamReader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
-                Type typeOfList = new TypeToken<List<Trick>>() {
-                }.getType();
-                tricks = GSON.fromJson(reader, typeOfList);
-            } catch (final IOException exception) {
-                MMDBot.LOGGER.trace("Failed to read tricks file...", exception);
-                tricks = new ArrayList<>();
+        return registry().tricks();
+    }
+
+    /**
+     * Gets the current snapshot of the registry, loading the tricks from the database if they are not loaded yet.
+     *
+     * @return the snapshot
+     */
+    private static TrickIndex registry() {
+        final var registry = REGISTRY.get();
+        if (registry != null) {
+            return registry;
+        }
+        synchronized (WRITE_LOCK) {
+            if (REGISTRY.get() == null) {
+                final var loaded = new ArrayList<Trick>();
+                for (final var data : withStore(store -> store.getAll())) {
+                    final var type = getTrickType(data.type());
+                    if (type == null) {
+                        MMDBot.LOGGER.warn("Found trick of unknown type '{}', skipping...", data.type());
+                        continue;
+                    }
+                    loaded.add(DATA_GSON.fromJson(data.data(), type.getClazz()));
+                }
+                REGISTRY.set(TrickIndex.of(loaded));
             }
+            return REGISTRY.get();
+        }
+    }
+
+    /**
+     * Publishes a new snapshot of the registry, built from the tricks of the current one. Must be called while
+     * holding the {@link #WRITE_LOCK}, once the change is stored in the database.
+     *
+     * @param updater the function modifying a copy of the tricks
+     */
+    private static void update(final Consumer<List<Trick>> updater) {
+        final var previous = registry();
+        final var tricks = new ArrayList<>(previous.tricks());
+        updater.accept(tricks);
+        REGISTRY.set(TrickIndex.of(tricks, previous));
+    }
+
+    /**
+     * Executes a trick, recording its {@linkplain TrickUsage usage statistics}.
+     *
+     * @param trick   the trick
+     * @param context the context to execute the trick in
+     */
+    public static void runTrick(final Trick trick, final TrickContext context) {
+        if (trick instanceof ScriptTrick) {
+            // Script tricks are evaluated asynchronously, so they record their statistics once evaluated
+            trick.execute(context);
+            return;
         }
-        return tricks;
+        final long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            trick.execute(context);
+            failed = false;
+        } finally {
+            TrickUsage.record(trick, System.nanoTime() - start, failed);
+        }
+    }
+
+    /**
+     * Reads the tricks from the legacy JSON tricks file.
+     *
+     * @param reader the reader of the file
+     * @return the tricks
+     */
+    public static List<Trick> readLegacyTricks(final Reader reader) {
+        final Type typeOfList = new TypeToken<List<Trick>>() {
+        }.getType();
+        final List<Trick> legacyTricks = GSON.fromJson(reader, typeOfList);
+        return legacyTricks == null ? List.of() : legacyTricks;
     }
 
     /**
@@ -147,8 +247,10 @@ public final class Tricks {
      * @param trick the trick to add.
      */
     public static void addTrick(final Trick trick) {
-        getTricks().add(trick);
-        write();
+        synchronized (WRITE_LOCK) {
+            useStoreTransaction(store -> store.insert(serialize(trick), trick.getNames()));
+            update(tricks -> tricks.add(trick));
+        }
         if (MMDBot.getConfig().prefixTricksEnabled()) {
             CommandModule.getCommandClient().addCommand(new CmdRunTrick.Prefix(trick));
         }
@@ -161,34 +263,66 @@ public final class Tricks {
      * @param trick the trick
      */
     public static void removeTrick(final Trick trick) {
-        getTricks().remove(trick);
-        write();
+        synchronized (WRITE_LOCK) {
+            useStoreTransaction(store -> store.delete(trick.getNames().get(0)));
+            update(tricks -> tricks.remove(trick));
+        }
+        invalidateCaches(trick);
+        TrickUsage.forget(trick);
         if (MMDBot.getConfig().prefixTricksEnabled()) {
             CommandModule.getCommandClient().removeCommand(trick.getNames().get(0));
         }
     }
 
     public static void replaceTrick(final Trick oldTrick, final Trick newTrick) {
-        getTricks().remove(oldTrick);
-        getTricks().add(newTrick);
-        write();
+        synchronized (WRITE_LOCK) {
+            useStoreTransaction(store -> {
+                store.delete(oldTrick.getNames().get(0));
+                store.insert(serialize(newTrick), newTrick.getNames());
+            });
+            update(tricks -> {
+                tricks.remove(oldTrick);
+                tricks.add(newTrick);
+            });
+        }
+        invalidateCaches(oldTrick);
     }
 
     /**
-     * Write tricks to disk.
+     * Invalidates the cached data of a trick which is no longer registered.
+     *
+     * @param trick the trick
      */
-    private static void write() {
-        final var tricksFile = new File(TRICK_STORAGE_PATH);
-        List<Trick> tricks = getTricks();
-        try (var writer = new OutputStreamWriter(new FileOutputStream(tricksFile), StandardCharsets.UTF_8)) {
-            GSON.toJson(tricks, writer);
-        } catch (final FileNotFoundException exception) {
-            MMDBot.LOGGER.error("An FileNotFoundException occurred saving tricks...", exception);
-        } catch (final IOException exception) {
-            MMDBot.LOGGER.error("An IOException occurred saving tricks...", exception);
+    private static void invalidateCaches(final Trick trick) {
+        if (trick instanceof ScriptTrick scriptTrick) {
+            ScriptingUtils.invalidateSource(scriptTrick.getRaw());
         }
     }
 
+    /**
+     * Serializes a trick, in order to store it in the database.
+     *
+     * @param trick the trick
+     * @return the stored data of the trick
+     */
+    public static TrickData serialize(final Trick trick) {
+        final var typeName = TRICK_TYPES.entrySet().stream()
+            .filter(e -> e.getValue().getClazz() == trick.getClass())
+            .map(Map.Entry::getKey)
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unknown trick type: " + trick.getClass()));
+        return new TrickData(typeName, DATA_GSON.toJson(trick));
+    }
+
+    // The DAO is referenced by its qualified name, as it has the same name as this class
+    private static <R> R withStore(final ExtensionCallback<R, com.mcmoddev.mmdbot.utilities.database.dao.Tricks, RuntimeException> callback) {
+        return MMDBot.database().withExtension(com.mcmoddev.mmdbot.utilities.database.dao.Tricks.class, callback);
+    }
+
+    private static void useStoreTransaction(final Consumer<com.mcmoddev.mmdbot.utilities.database.dao.Tricks> consumer) {
+        MMDBot.database().useExtension(com.mcmoddev.mmdbot.utilities.database.dao.Tricks.class, db -> db.useTransaction(consumer::accept));
+    }
+
     /**
      * Adds or restores the command for a trick.
      *
@@ -0,0 +1,157 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.tricks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable trigram index of names, used to suggest the names most similar to a mistyped one. <br>
+ * Each name is split into the trigrams of its lower case form, padded so that its start and its end are trigrams too.
+ * The similarity of two names is the Dice coefficient of their trigrams: twice the amount of shared trigrams,
+ * divided by the total amount of trigrams of both names. <br>
+ * Updating the index only computes the trigrams of the changed names, and shares the postings of the trigrams they do
+ * not have with the previous index.
+ */
+final class TrigramIndex {
+
+    static final TrigramIndex EMPTY = new TrigramIndex(Map.of(), Map.of());
+
+    /**
+     * The minimum similarity of a suggested name.
+     */
+    private static final double MIN_SIMILARITY = 0.3;
+
+    private static final String[] NO_NAMES = new String[0];
+
+    /**
+     * The names having each trigram.
+     */
+    private final Map<String, String[]> postings;
+
+    /**
+     * The amount of distinct trigrams of each name.
+     */
+    private final Map<String, Integer> trigramCounts;
+
+    private TrigramIndex(final Map<String, String[]> postings, final Map<String, Integer> trigramCounts) {
+        this.postings = postings;
+        this.trigramCounts = trigramCounts;
+    }
+
+    /**
+     * Creates an index with the given changes applied to this index.
+     *
+     * @param removed the names to remove
+     * @param added   the names to add
+     * @return the new index
+     */
+    TrigramIndex withChanges(final Collection<String> removed, final Collection<String> added) {
+        if (removed.isEmpty() && added.isEmpty()) {
+            return this;
+        }
+        final var newPostings = new HashMap<>(postings);
+        final var newCounts = new HashMap<>(trigramCounts);
+        for (final var name : removed) {
+            if (newCounts.remove(name) == null) {
+                continue;
+            }
+            for (final var trigram : trigrams(name)) {
+                final var names = newPostings.getOrDefault(trigram, NO_NAMES);
+                final var remaining = Arrays.stream(names).filter(n -> !n.equals(name)).toArray(String[]::new);
+                if (remaining.length == 0) {
+                    newPostings.remove(trigram);
+                } else {
+                    newPostings.put(trigram, remaining);
+                }
+            }
+        }
+        for (final var name : added) {
+            if (newCounts.containsKey(name)) {
+                continue;
+            }
+            final var trigrams = trigrams(name);
+            newCounts.put(name, trigrams.size());
+            for (final var trigram : trigrams) {
+                final var names = newPostings.getOrDefault(trigram, NO_NAMES);
+                final var extended = Arrays.copyOf(names, names.length + 1);
+                extended[names.length] = name;
+                newPostings.put(trigram, extended);
+            }
+        }
+        return new TrigramIndex(newPostings, newCounts);
+    }
+
+    /**
+     * Gets the indexed names most similar to a query, from the most similar to the least similar.
+     *
+     * @param query the query
+     * @param limit the maximum amount of names
+     * @return the names
+     */
+    List<String> getSimilar(final String query, final int limit) {
+        final var queryTrigrams = trigrams(query);
+        if (queryTrigrams.isEmpty()) {
+            return List.of();
+        }
+        final var shared = new HashMap<String, Integer>();
+        for (final var trigram : queryTrigrams) {
+            for (final var name : postings.getOrDefault(trigram, NO_NAMES)) {
+                shared.merge(name, 1, Integer::sum);
+            }
+        }
+        final var matches = new ArrayList<Match>(shared.size());
+        shared.forEach((name, count) -> {
+            final double similarity = 2.0 * count / (queryTrigrams.size() + trigramCounts.get(name));
+            if (similarity >= MIN_SIMILARITY) {
+                matches.add(new Match(name, similarity));
+            }
+        });
+        matches.sort(Comparator.comparingDouble(Match::similarity).reversed().thenComparing(Match::name));
+        return matches.stream().limit(limit).map(Match::name).toList();
+    }
+
+    /**
+     * Computes the distinct trigrams of a name.
+     *
+     * @param name the name
+     * @return the trigrams
+     */
+    static Set<String> trigrams(final String name) {
+        final var padded = "  " + name.toLowerCase(Locale.ROOT) + " ";
+        final var trigrams = new HashSet<String>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    private record Match(String name, double similarity) {
+    }
+}
@@ -0,0 +1,14 @@
+create table tricks (
+    id   integer not null,
+    type text    not null,
+    data text    not null,
+    primary key (id)
+);
+
+create table trick_names (
+    name     text    not null,
+    trick_id integer not null
+);
+
+create unique index trick_names_name on trick_names (name);
+create index trick_names_trick_id on trick_names (trick_id);
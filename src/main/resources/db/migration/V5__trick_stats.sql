@@ -0,0 +1,9 @@
+create table trick_stats (
+    name        text             not null,
+    invocations unsigned big int not null,
+    failures    unsigned big int not null,
+    p50         unsigned big int not null,
+    p99         unsigned big int not null,
+    last_used   datetime,
+    primary key (name)
+);
@@ -0,0 +1,12 @@
+create table quotes (
+    id           integer          not null,
+    type         text             not null,
+    content      text             not null,
+    quotee_type  text             not null,
+    quotee_id    unsigned big int not null,
+    quotee_text  text             not null,
+    creator_type text             not null,
+    creator_id   unsigned big int not null,
+    creator_text text             not null,
+    primary key (id)
+);
@@ -0,0 +1,30 @@
+-- Full-text index of the quotes, kept in sync with the quotes table by the triggers below
+-- The prefix indexes make prefix queries of 2 and 3 characters (such as "he*") index lookups
+create virtual table quotes_fts using fts5 (
+    content,
+    quotee_text,
+    creator_text,
+    content = 'quotes',
+    content_rowid = 'id',
+    prefix = '2 3'
+);
+
+create trigger quotes_fts_insert after insert on quotes begin
+    insert into quotes_fts (rowid, content, quotee_text, creator_text)
+    values (new.id, new.content, new.quotee_text, new.creator_text);
+end;
+
+create trigger quotes_fts_delete after delete on quotes begin
+    insert into quotes_fts (quotes_fts, rowid, content, quotee_text, creator_text)
+    values ('delete', old.id, old.content, old.quotee_text, old.creator_text);
+end;
+
+create trigger quotes_fts_update after update on quotes begin
+    insert into quotes_fts (quotes_fts, rowid, content, quotee_text, creator_text)
+    values ('delete', old.id, old.content, old.quotee_text, old.creator_text);
+    insert into quotes_fts (rowid, content, quotee_text, creator_text)
+    values (new.id, new.content, new.quotee_text, new.creator_text);
+end;
+
+-- Index the quotes which were stored before this migration
+insert into quotes_fts (quotes_fts) values ('rebuild');
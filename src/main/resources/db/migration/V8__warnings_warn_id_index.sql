@@ -0,0 +1,2 @@
+-- Warnings are mostly looked up by their ID, which is the last column of the primary key
+create index warnings_warn_id on warnings (warn_id);
@@ -0,0 +1,104 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.modules.logging.misc;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScamLinksTest {
+
+    private static final Set<String> LINKS = Set.of("dlscord.gift", "steamcommunlty.ru", "www.phish.tld");
+
+    @Test
+    void matchesLinksInBothModes() {
+        for (final var mode : ScamDetector.DetectionMode.values()) {
+            final var links = ScamLinks.compile(LINKS, mode);
+            assertTrue(links.matches("free nitro at https://DLSCORD.gift/abc"), mode.toString());
+            assertTrue(links.matches("trade at login.steamcommunlty.ru/offer"), mode.toString());
+            assertTrue(links.matches("https://www.phish.tld/login"), mode.toString());
+            assertFalse(links.matches("steamcommunity.com is fine"), mode.toString());
+        }
+    }
+
+    @Test
+    void appliesChangesInBothModes() {
+        for (final var mode : ScamDetector.DetectionMode.values()) {
+            final var links = ScamLinks.compile(LINKS, mode)
+                .withChanges(List.of("new-scam.com"), List.of("dlscord.gift"));
+            assertTrue(links.matches("go to new-scam.com"), mode.toString());
+            assertFalse(links.matches("free nitro at https://dlscord.gift/abc"), mode.toString());
+            assertTrue(links.matches("https://steamcommunlty.ru"), mode.toString());
+            assertEquals(Set.of("new-scam.com", "steamcommunlty.ru", "www.phish.tld"), links.links());
+            assertEquals(2, links.overlaySize());
+        }
+    }
+
+    @Test
+    void changesCancelEachOther() {
+        final var base = ScamLinks.compile(LINKS, ScamDetector.DetectionMode.HOSTS);
+        final var removedThenAdded = base.withChanges(List.of(), List.of("dlscord.gift"))
+            .withChanges(List.of("dlscord.gift"), List.of());
+        assertTrue(removedThenAdded.matches("https://dlscord.gift"));
+        assertEquals(0, removedThenAdded.overlaySize());
+
+        final var addedThenRemoved = base.withChanges(List.of("new-scam.com"), List.of())
+            .withChanges(List.of(), List.of("new-scam.com"));
+        assertFalse(addedThenRemoved.matches("https://new-scam.com"));
+        assertEquals(0, addedThenRemoved.overlaySize());
+        assertEquals(LINKS, addedThenRemoved.links());
+    }
+
+    @Test
+    void doesNotModifyThePreviousLinks() {
+        final var base = ScamLinks.compile(LINKS, ScamDetector.DetectionMode.AUTOMATON);
+        base.withChanges(List.of("new-scam.com"), List.of("dlscord.gift"));
+        assertTrue(base.matches("https://dlscord.gift"));
+        assertFalse(base.matches("https://new-scam.com"));
+        assertEquals(LINKS, base.links());
+    }
+
+    @Test
+    void compactsLargeOverlays() {
+        for (final var mode : ScamDetector.DetectionMode.values()) {
+            var links = ScamLinks.compile(LINKS, mode);
+            final var added = new HashSet<String>();
+            for (int i = 0; i < ScamLinks.COMPACTION_THRESHOLD; i++) {
+                added.add("scam" + i + ".com");
+            }
+            links = links.withChanges(added, List.of());
+            assertEquals(ScamLinks.COMPACTION_THRESHOLD, links.overlaySize(), mode.toString());
+
+            links = links.withChanges(List.of("one-more.com"), List.of("dlscord.gift"));
+            assertEquals(0, links.overlaySize(), mode.toString());
+            assertEquals(LINKS.size() + ScamLinks.COMPACTION_THRESHOLD, links.links().size(), mode.toString());
+            assertTrue(links.matches("https://scam42.com"), mode.toString());
+            assertTrue(links.matches("https://one-more.com"), mode.toString());
+            assertFalse(links.matches("https://dlscord.gift"), mode.toString());
+        }
+    }
+}
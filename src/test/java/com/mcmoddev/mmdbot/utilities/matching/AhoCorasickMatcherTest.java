@@ -0,0 +1,65 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.matching;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AhoCorasickMatcherTest {
+
+    private static final AhoCorasickMatcher MATCHER = AhoCorasickMatcher.compile(
+        List.of("he", "she", "his", "hers", "steamcommunity.ru", "dlscord.gift"));
+
+    @Test
+    void matchesAnyPattern() {
+        assertTrue(MATCHER.matches("ushers"));
+        assertTrue(MATCHER.matches("free nitro at https://dlscord.gift/abc"));
+        assertTrue(MATCHER.matches("trade with me steamcommunity.ru/tradeoffer"));
+        assertFalse(MATCHER.matches("steamcommunity.com is fine"));
+        assertFalse(MATCHER.matches(""));
+    }
+
+    @Test
+    void followsFailLinks() {
+        final var matcher = AhoCorasickMatcher.compile(List.of("abcd", "bce"));
+        assertTrue(matcher.matches("xabce"));
+        assertFalse(matcher.matches("abcbc"));
+    }
+
+    @Test
+    void ignoresAsciiCase() {
+        assertTrue(MATCHER.matches("DLSCORD.GIFT/free"));
+        assertEquals("DLSCORD.GIFT", MATCHER.find("go to DLSCORD.GIFT/free"));
+    }
+
+    @Test
+    void findsFirstPattern() {
+        assertEquals("she", MATCHER.find("ushers"));
+        assertNull(MATCHER.find("nothing to see"));
+        assertNull(AhoCorasickMatcher.EMPTY.find("she"));
+    }
+}
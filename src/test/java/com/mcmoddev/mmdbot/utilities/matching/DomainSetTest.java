@@ -0,0 +1,88 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.matching;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DomainSetTest {
+
+    private static final DomainSet SET = DomainSet.of(List.of("Evil.com", "dlscord.gift", "www.steamcommunlty.ru", "evil.com"));
+
+    private static boolean contains(final DomainSet set, final String host) {
+        return set.contains(host, 0, host.length());
+    }
+
+    @Test
+    void containsItsDomainsIgnoringCase() {
+        assertEquals(3, SET.size());
+        assertTrue(contains(SET, "evil.com"));
+        assertTrue(contains(SET, "EVIL.COM"));
+        assertTrue(contains(SET, "dlscord.gift"));
+        assertFalse(contains(SET, "evil.co"));
+        assertFalse(contains(SET, "notevil.com"));
+        assertFalse(contains(DomainSet.EMPTY, "evil.com"));
+    }
+
+    @Test
+    void looksUpRangesOfText() {
+        final var text = "go to dlscord.gift now";
+        assertTrue(SET.contains(text, 6, 18));
+        assertFalse(SET.contains(text, 5, 18));
+        assertFalse(SET.contains(text, 6, 17));
+    }
+
+    @Test
+    void stripsTheWwwPrefixOfDomains() {
+        assertTrue(contains(SET, "steamcommunlty.ru"));
+        assertFalse(contains(SET, "www.steamcommunlty.ru"));
+    }
+
+    @Test
+    void containsParentsOfHosts() {
+        final var host = "login.secure.evil.com";
+        assertTrue(SET.containsHostOrParent(host, 0, host.length()));
+        final var other = "evil.com.example.org";
+        assertFalse(SET.containsHostOrParent(other, 0, other.length()));
+        // Top level domains are never checked on their own
+        final var tld = DomainSet.of(List.of("com"));
+        assertFalse(tld.containsHostOrParent(host, 0, host.length()));
+    }
+
+    @Test
+    void growsPastItsInitialCapacity() {
+        final var domains = new java.util.ArrayList<String>();
+        for (int i = 0; i < 1000; i++) {
+            domains.add("domain" + i + ".example");
+        }
+        final var set = DomainSet.of(domains);
+        assertEquals(1000, set.size());
+        for (final var domain : domains) {
+            assertTrue(contains(set, domain));
+        }
+        assertFalse(contains(set, "domain1000.example"));
+    }
+}
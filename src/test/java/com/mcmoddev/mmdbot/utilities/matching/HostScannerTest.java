@@ -0,0 +1,92 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.matching;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HostScannerTest {
+
+    private static final DomainSet DOMAINS = DomainSet.of(List.of("dlscord.gift", "evil.com", "www.phish.tld",
+        "xn--80ak6aa92e.com"));
+
+    private static boolean matches(final String text) {
+        return HostScanner.anyHostMatches(text, DOMAINS::containsHostOrParent);
+    }
+
+    private static List<String> hosts(final String text) {
+        final var hosts = new ArrayList<String>();
+        HostScanner.anyHostMatches(text, (t, start, end) -> {
+            hosts.add(t.subSequence(start, end).toString());
+            return false;
+        });
+        return hosts;
+    }
+
+    @Test
+    void findsHostsInText() {
+        assertEquals(List.of("dlscord.gift", "evil.com", "a.b"),
+            hosts("free nitro at https://dlscord.gift/abc, or www.evil.com. a.b"));
+        assertEquals(List.of(), hosts("no hosts in this sentence. Really"));
+    }
+
+    @Test
+    void matchesHostsAndTheirParents() {
+        assertTrue(matches("hi https://DLSCORD.gift/abc"));
+        assertTrue(matches("login.secure.evil.com/x"));
+        assertTrue(matches("go to www.evil.com."));
+        assertFalse(matches("notevil.com"));
+        assertFalse(matches("evil.co"));
+        assertFalse(matches("just text, ending a sentence."));
+    }
+
+    @Test
+    void matchesDomainsListedWithTheWwwPrefix() {
+        assertTrue(matches("https://www.phish.tld/login"));
+        assertTrue(matches("https://phish.tld/login"));
+    }
+
+    @Test
+    void matchesInternationalizedHosts() {
+        // Cyrillic homograph of apple.com, and the ideographic full stop
+        assertTrue(matches("https://аррӏе.com"));
+        assertTrue(matches("evil。com"));
+        assertFalse(matches("日本語の文章"));
+    }
+
+    @Test
+    void testsParentsButNotTopLevelDomains() {
+        final var tested = new ArrayList<String>();
+        final var host = "a.b.example.com";
+        HostScanner.testHostAndParents(host, 0, host.length(), (text, start, end) -> {
+            tested.add(text.subSequence(start, end).toString());
+            return false;
+        });
+        assertEquals(List.of("a.b.example.com", "b.example.com", "example.com"), tested);
+        assertFalse(HostScanner.testHostAndParents("localhost", 0, 9, (text, start, end) -> true));
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class AtomicFilesTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replacesTheContent() throws IOException {
+        final var file = directory.resolve("store.json");
+        AtomicFiles.write(file, writer -> writer.write("old"));
+        AtomicFiles.write(file, writer -> writer.write("new ✓"));
+        assertEquals("new ✓", Files.readString(file, StandardCharsets.UTF_8));
+        assertEquals(List.of(file), listFiles());
+    }
+
+    @Test
+    void keepsTheOldContentWhenTheWriteFails() throws IOException {
+        final var file = directory.resolve("store.json");
+        AtomicFiles.write(file, writer -> writer.write("old"));
+
+        assertThrows(IOException.class, () -> AtomicFiles.write(file, writer -> {
+            writer.write("partial");
+            writer.flush();
+            throw new IOException("Failed");
+        }));
+        assertEquals("old", Files.readString(file, StandardCharsets.UTF_8));
+        // The temporary file is deleted
+        assertEquals(List.of(file), listFiles());
+    }
+
+    @Test
+    void keepsThePermissions() throws IOException {
+        assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+        final var file = directory.resolve("store.json");
+        AtomicFiles.write(file, writer -> writer.write("old"));
+        final var permissions = PosixFilePermissions.fromString("rw-r-----");
+        Files.setPosixFilePermissions(file, permissions);
+
+        AtomicFiles.write(file, writer -> writer.write("new"));
+        assertEquals(permissions, Files.getPosixFilePermissions(file));
+    }
+
+    private List<Path> listFiles() throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.toList();
+        }
+    }
+}
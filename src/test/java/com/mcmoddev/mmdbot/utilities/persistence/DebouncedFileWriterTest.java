@@ -0,0 +1,95 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DebouncedFileWriterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void coalescesScheduledWrites() throws IOException {
+        final var file = directory.resolve("store.json");
+        final var writes = new AtomicInteger();
+        // A long delay, so that only flushing writes the file
+        final var writer = new DebouncedFileWriter("test", file, Duration.ofHours(1),
+            out -> out.write("write " + writes.incrementAndGet()));
+
+        for (int i = 0; i < 10; i++) {
+            writer.schedule();
+        }
+        assertFalse(Files.exists(file));
+
+        writer.flush();
+        assertEquals(1, writes.get());
+        assertEquals("write 1", Files.readString(file, StandardCharsets.UTF_8));
+
+        // Nothing is pending anymore
+        writer.flush();
+        assertEquals(1, writes.get());
+        assertEquals(1, writer.getLatency().getCount());
+    }
+
+    @Test
+    void writesAfterTheDelay() throws InterruptedException {
+        final var file = directory.resolve("store.json");
+        final var writes = new AtomicInteger();
+        final var writer = new DebouncedFileWriter("test", file, Duration.ofMillis(50),
+            out -> out.write("write " + writes.incrementAndGet()));
+
+        writer.schedule();
+        writer.schedule();
+        final long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (writer.getLatency().getCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(Files.exists(file));
+        assertEquals(1, writes.get());
+    }
+
+    @Test
+    void countsFailedWrites() throws IOException {
+        final var file = directory.resolve("store.json");
+        Files.writeString(file, "old");
+        final var writer = new DebouncedFileWriter("test", file, Duration.ofHours(1), out -> {
+            throw new IOException("Failed");
+        });
+
+        writer.schedule();
+        writer.flush();
+        assertEquals(1, writer.getFailures());
+        assertEquals("old", Files.readString(file));
+    }
+}
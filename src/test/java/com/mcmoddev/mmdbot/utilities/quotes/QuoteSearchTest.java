@@ -0,0 +1,132 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.quotes;
+
+import com.mcmoddev.mmdbot.utilities.database.DatabaseManager;
+import com.mcmoddev.mmdbot.utilities.database.dao.Quotes;
+import com.mcmoddev.mmdbot.utilities.database.dao.Quotes.QuoteData;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.sqlite.SQLiteDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuoteSearchTest {
+
+    private static final long QUOTEE = 100;
+    private static final long OTHER_QUOTEE = 200;
+
+    /**
+     * Keeps the in-memory database alive, as it is deleted once its last connection is closed.
+     */
+    private Connection keepAlive;
+    private Jdbi jdbi;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        final var dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:file:quotes-" + UUID.randomUUID() + "?mode=memory&cache=shared");
+        keepAlive = dataSource.getConnection();
+        // Migrated by Flyway, the same way as the bot's database
+        jdbi = new DatabaseManager(dataSource).jdbi();
+        jdbi.useExtension(Quotes.class, db -> {
+            db.insert(quote(0, "The quick brown fox", QUOTEE, "creator"));
+            db.insert(quote(1, "A quick reply", OTHER_QUOTEE, "creator"));
+            db.insert(quote(2, "Quickly now", QUOTEE, "creator"));
+            db.insert(quote(3, "Something else entirely", QUOTEE, "quick creator"));
+            db.insert(quote(4, "Nothing to see here", OTHER_QUOTEE, "creator"));
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        keepAlive.close();
+    }
+
+    @Test
+    void convertsWordsToPrefixTerms() {
+        assertEquals("\"hello\"* \"world\"*", QuoteList.toSearchQuery("hello, world!"));
+        assertEquals("\"héllo\"* \"42\"*", QuoteList.toSearchQuery("  héllo 42  "));
+        assertEquals("", QuoteList.toSearchQuery(" !?. "));
+    }
+
+    @Test
+    void escapesTheQuerySyntax() {
+        assertEquals("\"a\"* \"OR\"* \"b\"* \"NEAR\"* \"c\"*", QuoteList.toSearchQuery("a\" OR b* NEAR(c)"));
+        assertEquals("\"content\"* \"fox\"*", QuoteList.toSearchQuery("content:fox"));
+        // The operators are searched as words, so all of them must match
+        assertEquals(List.of(), search("quick\" OR \"nothing", 0, 10, 0));
+        assertEquals(List.of(), search("content:fox", 0, 10, 0));
+    }
+
+    @Test
+    void matchesWordPrefixes() {
+        assertEquals(Set.of(0, 1, 2, 3), Set.copyOf(search("quic", 0, 10, 0)));
+        assertEquals(List.of(0), search("brown FOX", 0, 10, 0));
+        assertEquals(List.of(0), search("qu br", 0, 10, 0));
+        assertEquals(4, count("quick", 0));
+    }
+
+    @Test
+    void filtersByQuotee() {
+        assertEquals(Set.of(0, 2, 3), Set.copyOf(search("quick", QUOTEE, 10, 0)));
+        assertEquals(List.of(1), search("quick", OTHER_QUOTEE, 10, 0));
+        assertEquals(3, count("quick", QUOTEE));
+        assertEquals(0, count("quick", 300));
+    }
+
+    @Test
+    void pagesThroughTheResults() {
+        final var all = search("quick", 0, 10, 0);
+        final var pages = new ArrayList<Integer>();
+        for (int offset = 0; offset < 4; offset += 3) {
+            final var page = search("quick", 0, 3, offset);
+            assertTrue(page.size() <= 3);
+            pages.addAll(page);
+        }
+        assertEquals(all, pages);
+        assertEquals(List.of(), search("quick", 0, 3, 6));
+    }
+
+    private List<Integer> search(final String text, final long quotee, final int limit, final int offset) {
+        final var query = QuoteList.toSearchQuery(text);
+        return jdbi.withExtension(Quotes.class, db -> db.search(query, quotee, limit, offset));
+    }
+
+    private int count(final String text, final long quotee) {
+        final var query = QuoteList.toSearchQuery(text);
+        return jdbi.withExtension(Quotes.class, db -> db.countMatches(query, quotee));
+    }
+
+    private static QuoteData quote(final int id, final String content, final long quotee, final String creator) {
+        return new QuoteData(id, "string", content, "snowflake", quotee, "", "string", 0, creator);
+    }
+}
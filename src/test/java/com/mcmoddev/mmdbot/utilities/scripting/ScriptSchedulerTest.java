@@ -0,0 +1,129 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.scripting;
+
+import org.graalvm.polyglot.Context;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScriptSchedulerTest {
+
+    private static final ScriptScheduler.Budget NO_LIMITS = new ScriptScheduler.Budget(0, 0, 0, 0);
+
+    @Test
+    void rejectsScriptsOnceTheQueueIsFull() throws Exception {
+        final var scheduler = new ScriptScheduler(1, 2, 5, NO_LIMITS);
+        final var release = new CountDownLatch(1);
+        final var blocking = scheduler.submit(1, () -> await(release));
+        final var second = scheduler.submit(2, () -> {});
+        final var third = scheduler.submit(3, () -> {});
+        assertEquals(2, scheduler.getQueued());
+
+        final var rejected = scheduler.submit(4, () -> {});
+        final var exception = assertThrows(ExecutionException.class, rejected::get);
+        assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+
+        release.countDown();
+        assertNotNull(blocking.get(10, TimeUnit.SECONDS));
+        assertNotNull(second.get(10, TimeUnit.SECONDS));
+        assertNotNull(third.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void rejectsScriptsOfUsersWithTooManyWaiting() throws Exception {
+        final var scheduler = new ScriptScheduler(1, 10, 1, NO_LIMITS);
+        final var release = new CountDownLatch(1);
+        final var blocking = scheduler.submit(1, () -> await(release));
+        final var waiting = scheduler.submit(1, () -> {});
+
+        final var rejected = scheduler.submit(1, () -> {});
+        final var exception = assertThrows(ExecutionException.class, rejected::get);
+        assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+        // Other users are not affected
+        final var other = scheduler.submit(2, () -> {});
+
+        release.countDown();
+        assertNotNull(blocking.get(10, TimeUnit.SECONDS));
+        assertNotNull(waiting.get(10, TimeUnit.SECONDS));
+        assertNotNull(other.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void runsOneScriptPerUserAtATime() throws Exception {
+        final var scheduler = new ScriptScheduler(4, 10, 5, NO_LIMITS);
+        final var release = new CountDownLatch(1);
+        final var secondStarted = new AtomicBoolean();
+        final var blocking = scheduler.submit(1, () -> await(release));
+        final var second = scheduler.submit(1, () -> secondStarted.set(true));
+        final var other = scheduler.submit(2, () -> {});
+
+        // The script of the other user runs on a free worker, while the second script of the first user waits
+        assertNotNull(other.get(10, TimeUnit.SECONDS));
+        assertFalse(secondStarted.get());
+        assertEquals(1, scheduler.getQueued());
+
+        release.countDown();
+        assertNotNull(blocking.get(10, TimeUnit.SECONDS));
+        assertNotNull(second.get(10, TimeUnit.SECONDS));
+        assertTrue(secondStarted.get());
+    }
+
+    @Test
+    void cancelsScriptsExceedingTheirTimeLimit() throws Exception {
+        final var scheduler = new ScriptScheduler(1, 10, 5, new ScriptScheduler.Budget(0, 100, 0, 0));
+        final var context = Context.create("js");
+        final var future = scheduler.submit(1, () -> {
+            final var execution = ScriptExecution.current();
+            final var previous = execution.attach(context);
+            try {
+                context.eval("js", "while (true) {}");
+            } finally {
+                execution.detach(previous);
+            }
+        });
+
+        final var exception = assertThrows(CancellationException.class, () -> future.get(10, TimeUnit.SECONDS));
+        assertEquals("Evaluation was timed out!", exception.getMessage());
+        // The watchdog closed the context to stop the script
+        assertThrows(IllegalStateException.class, () -> context.eval("js", "1"));
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
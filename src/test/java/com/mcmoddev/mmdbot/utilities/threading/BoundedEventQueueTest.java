@@ -0,0 +1,163 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.threading;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedEventQueueTest {
+
+    /**
+     * An executor which only runs its tasks when asked to, so that they stay pending.
+     */
+    private static final class ManualExecutor implements Executor {
+
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public void execute(final Runnable command) {
+            tasks.add(command);
+        }
+
+        void runAll() {
+            tasks.forEach(Runnable::run);
+            tasks.clear();
+        }
+    }
+
+    @Test
+    void dropsLowPriorityEventsWhenFull() {
+        final var queue = new BoundedEventQueue("BoundedEventQueueTest", 2);
+        final var delegate = new ManualExecutor();
+        final var executor = queue.bind(delegate, EventPriority.LOW);
+        final var ran = new boolean[1];
+        executor.execute(() -> {});
+        executor.execute(() -> {});
+        executor.execute(() -> ran[0] = true);
+
+        assertFalse(ran[0]);
+        assertEquals(2, delegate.tasks.size());
+        assertEquals(2, queue.getPending());
+        assertEquals(2, queue.getQueued());
+        assertEquals(1, queue.getDropped());
+        assertEquals(0, queue.getOverflowed());
+
+        delegate.runAll();
+        assertEquals(0, queue.getPending());
+        assertFalse(ran[0]);
+    }
+
+    @Test
+    void overflowsCriticalEventsWhenFull() {
+        final var queue = new BoundedEventQueue("BoundedEventQueueTest", 1);
+        final var delegate = new ManualExecutor();
+        final var low = queue.bind(delegate, EventPriority.LOW);
+        final var critical = queue.bind(delegate, EventPriority.CRITICAL);
+        final var ran = new boolean[1];
+        low.execute(() -> {});
+        critical.execute(() -> ran[0] = true);
+
+        // The critical event must be queued, not run on the submitting thread
+        assertFalse(ran[0]);
+        assertEquals(2, delegate.tasks.size());
+        assertEquals(2, queue.getPending());
+        assertEquals(2, queue.getQueued());
+        assertEquals(1, queue.getOverflowed());
+        assertEquals(0, queue.getDropped());
+
+        // While over capacity, low priority events are still dropped
+        low.execute(() -> {});
+        assertEquals(1, queue.getDropped());
+
+        delegate.runAll();
+        assertEquals(0, queue.getPending());
+        assertTrue(ran[0]);
+    }
+
+    @Test
+    void dropsCriticalEventsPastTheHardLimit() {
+        final var queue = new BoundedEventQueue("BoundedEventQueueTest", 2);
+        final var delegate = new ManualExecutor();
+        final var critical = queue.bind(delegate, EventPriority.CRITICAL);
+        for (int i = 0; i < queue.getCriticalCapacity() + 3; i++) {
+            critical.execute(() -> {});
+        }
+
+        assertEquals(8, queue.getCriticalCapacity());
+        assertEquals(8, delegate.tasks.size());
+        assertEquals(8, queue.getPending());
+        assertEquals(6, queue.getOverflowed());
+        assertEquals(3, queue.getDropped());
+
+        delegate.runAll();
+        assertEquals(0, queue.getPending());
+    }
+
+    @Test
+    void skipsEventsWithoutPriority() {
+        final var queue = new BoundedEventQueue("BoundedEventQueueTest", 1);
+        final var delegate = new ManualExecutor();
+        queue.bind(delegate, event -> null).execute(() -> {});
+
+        assertEquals(0, delegate.tasks.size());
+        assertEquals(0, queue.getPending());
+        assertEquals(0, queue.getQueued());
+        assertEquals(0, queue.getDropped());
+    }
+
+    @Test
+    void releasesTheSlotOfRejectedEvents() {
+        final var queue = new BoundedEventQueue("BoundedEventQueueTest", 1);
+        final var executor = queue.bind(command -> {
+            throw new RejectedExecutionException("shut down");
+        }, EventPriority.CRITICAL);
+
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {}));
+        assertEquals(0, queue.getPending());
+
+        // The queue is not left full by the rejected event
+        final var delegate = new ManualExecutor();
+        queue.bind(delegate, EventPriority.LOW).execute(() -> {});
+        assertEquals(1, delegate.tasks.size());
+        assertEquals(0, queue.getDropped());
+    }
+
+    @Test
+    void releasesTheSlotOfFailedEvents() {
+        final var queue = new BoundedEventQueue("BoundedEventQueueTest", 1);
+        final var delegate = new ManualExecutor();
+        queue.bind(delegate, EventPriority.LOW).execute(() -> {
+            throw new IllegalStateException("listener failure");
+        });
+
+        assertThrows(IllegalStateException.class, delegate::runAll);
+        assertEquals(0, queue.getPending());
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.threading;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeyedLaneExecutorTest {
+
+    @Test
+    void keepsTheOrderOfTasksWithTheSameKey() throws InterruptedException {
+        final var executor = new KeyedLaneExecutor("KeyedLaneExecutorTest", 4);
+        final var order = Collections.synchronizedList(new ArrayList<Integer>());
+        final var done = new CountDownLatch(1);
+        for (int i = 0; i < 1000; i++) {
+            final int index = i;
+            executor.execute(123456789L, () -> order.add(index));
+        }
+        executor.execute(123456789L, done::countDown);
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+
+        final List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, order);
+    }
+
+    @Test
+    void runsTasksWithDifferentKeysConcurrently() throws InterruptedException {
+        final var executor = new KeyedLaneExecutor("KeyedLaneExecutorTest", 2);
+        assertNotEquals(executor.laneOf(0), executor.laneOf(1));
+
+        // The first task can only finish once the second one ran, which would never happen if they shared a lane
+        final var secondRan = new CountDownLatch(1);
+        final var firstFinished = new CountDownLatch(1);
+        executor.execute(0, () -> {
+            try {
+                if (secondRan.await(10, TimeUnit.SECONDS)) {
+                    firstFinished.countDown();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        executor.execute(1, secondRan::countDown);
+        assertTrue(firstFinished.await(15, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void alwaysMapsAKeyToTheSameLane() {
+        final var executor = new KeyedLaneExecutor("KeyedLaneExecutorTest", 8);
+        final long snowflake = 937215823400009738L;
+        final int lane = executor.laneOf(snowflake);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(lane, executor.laneOf(snowflake));
+        }
+        assertTrue(lane >= 0 && lane < 8);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.tricks;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.MissingFormatArgumentException;
+import java.util.UnknownFormatConversionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FormatTemplateTest {
+
+    private static void assertFormatsLikeStringFormat(final String format, final String... args) {
+        assertEquals(String.format(format, (Object[]) args), FormatTemplate.compile(format).format(args));
+    }
+
+    @Test
+    void formatsSequentialArguments() {
+        assertFormatsLikeStringFormat("Hello %s, welcome to %s!", "user", "MMD");
+        assertFormatsLikeStringFormat("%s%s", "a", "b");
+        assertFormatsLikeStringFormat("%s", "only");
+    }
+
+    @Test
+    void formatsIndexedArguments() {
+        assertFormatsLikeStringFormat("%2$s then %1$s", "first", "second");
+        assertFormatsLikeStringFormat("%1$s%1$s%1$s", "x");
+        assertFormatsLikeStringFormat("%10$s", "1", "2", "3", "4", "5", "6", "7", "8", "9", "10");
+    }
+
+    @Test
+    void mixesSequentialAndIndexedArguments() {
+        // Sequential specifiers ignore the indexed ones, as with String#format
+        assertFormatsLikeStringFormat("%s %2$s %s %1$s", "a", "b");
+    }
+
+    @Test
+    void formatsEscapes() {
+        assertFormatsLikeStringFormat("100%% sure%n%s", "yes");
+        assertFormatsLikeStringFormat("%%s is not an argument");
+    }
+
+    @Test
+    void extraArgumentsAreIgnored() {
+        assertFormatsLikeStringFormat("%s", "a", "b", "c");
+        assertFormatsLikeStringFormat("no arguments", "a");
+    }
+
+    @Test
+    void missingArgumentsThrow() {
+        assertThrows(MissingFormatArgumentException.class, () -> FormatTemplate.compile("%s and %s").format("a"));
+        assertThrows(MissingFormatArgumentException.class, () -> FormatTemplate.compile("%3$s").format("a", "b"));
+    }
+
+    @Test
+    void trailingPercentBehavesLikeStringFormat() {
+        assertThrows(UnknownFormatConversionException.class, () -> FormatTemplate.compile("50%").format());
+    }
+
+    @Test
+    void fallsBackForOtherSpecifiers() {
+        assertFormatsLikeStringFormat("[%5s]", "ab");
+        assertFormatsLikeStringFormat("[%-5s]", "ab");
+        assertFormatsLikeStringFormat("%S", "loud");
+        assertTrue(FormatTemplate.compile("[%5s]").hasArguments());
+    }
+
+    @Test
+    void knowsWhetherItHasArguments() {
+        assertFalse(FormatTemplate.compile("Static text with 100%% and%n a line break").hasArguments());
+        assertTrue(FormatTemplate.compile("Hi %s").hasArguments());
+        assertTrue(FormatTemplate.compile("Hi %1$s").hasArguments());
+    }
+}
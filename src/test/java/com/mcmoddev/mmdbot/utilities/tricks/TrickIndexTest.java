@@ -0,0 +1,92 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.tricks;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class TrickIndexTest {
+
+    private static final Trick JAVA = trick("java", "javase");
+    private static final Trick JAVADOC = trick("javadoc", "docs");
+    private static final Trick JAR = trick("jar");
+    private static final Trick KOTLIN = trick("kotlin", "kt");
+
+    private static Trick trick(final String... names) {
+        return new StringTrick(List.of(names), String.join(" ", names));
+    }
+
+    @Test
+    void looksUpTricksByAnyName() {
+        final var index = TrickIndex.of(List.of(JAVA, JAVADOC, KOTLIN));
+        assertSame(JAVA, index.get("java"));
+        assertSame(JAVA, index.get("javase"));
+        assertSame(KOTLIN, index.get("kt"));
+        assertNull(index.get("jav"));
+    }
+
+    @Test
+    void indexesTheFirstTrickOfASharedName() {
+        final var other = trick("other", "javase");
+        final var index = TrickIndex.of(List.of(JAVA, other));
+        assertSame(JAVA, index.get("javase"));
+        assertSame(other, index.get("other"));
+    }
+
+    @Test
+    void completesMainNamesInOrder() {
+        final var index = TrickIndex.of(List.of(KOTLIN, JAVADOC, JAVA, JAR));
+        assertEquals(List.of("jar", "java", "javadoc"), index.getNamesStartingWith("ja", 10));
+        assertEquals(List.of("jar", "java"), index.getNamesStartingWith("ja", 2));
+        assertEquals(List.of("java", "javadoc"), index.getNamesStartingWith("java", 10));
+        assertEquals(List.of("jar", "java", "javadoc", "kotlin"), index.getNamesStartingWith("", 10));
+        // Aliases are not completed
+        assertEquals(List.of(), index.getNamesStartingWith("javas", 10));
+        assertEquals(List.of(), index.getNamesStartingWith("javadocs", 10));
+    }
+
+    @Test
+    void forgetsRemovedTricks() {
+        final var index = TrickIndex.of(List.of(JAVA, JAVADOC, JAR));
+        final var updated = TrickIndex.of(List.of(JAVA, JAR), index);
+        assertEquals(List.of("java"), updated.getNamesStartingWith("java", 10));
+        assertNull(updated.get("docs"));
+        assertEquals(List.of("java", "jar"), updated.getSimilarNames("javadoc", 10));
+        // The previous index is left untouched
+        assertEquals(List.of("java", "javadoc"), index.getNamesStartingWith("java", 10));
+        assertSame(JAVADOC, index.get("docs"));
+    }
+
+    @Test
+    void suggestsTheMainNamesOfSimilarTricks() {
+        final var index = TrickIndex.of(List.of(JAVA, JAVADOC, KOTLIN));
+        // Both "java" and its alias "javase" are similar to the query, but the trick is only suggested once
+        assertEquals(List.of("java", "javadoc"), index.getSimilarNames("java", 10));
+        assertEquals(List.of("javadoc", "java"), index.getSimilarNames("javdoc", 10));
+        assertEquals(List.of("kotlin"), index.getSimilarNames("kotiln", 10));
+        assertEquals(List.of("javadoc"), index.getSimilarNames("doc", 10));
+    }
+}
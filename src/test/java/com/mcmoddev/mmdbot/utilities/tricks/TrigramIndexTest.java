@@ -0,0 +1,65 @@
+/*
+ * MMDBot - https://github.com/MinecraftModDevelopment/MMDBot
+ * Copyright (C) 2016-2022 <MMD - MinecraftModDevelopment>
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ * https://www.gnu.org/licenses/old-licenses/lgpl-2.1.html
+ */
+package com.mcmoddev.mmdbot.utilities.tricks;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrigramIndexTest {
+
+    private static final TrigramIndex INDEX = TrigramIndex.EMPTY.withChanges(List.of(),
+        List.of("forge", "forgegradle", "neoforge", "fabric", "quilt", "mappings"));
+
+    @Test
+    void splitsNamesIntoPaddedTrigrams() {
+        assertEquals(Set.of("  a", " ab", "abc", "bc "), TrigramIndex.trigrams("abc"));
+        assertEquals(TrigramIndex.trigrams("abc"), TrigramIndex.trigrams("ABC"));
+    }
+
+    @Test
+    void ranksTheClosestNamesFirst() {
+        assertEquals(List.of("forge", "forgegradle", "neoforge"), INDEX.getSimilar("forge", 10));
+        assertEquals(List.of("forge", "forgegradle"), INDEX.getSimilar("forge", 2));
+        // neoforge only shares two of its nine trigrams with "forg", which is below the minimum similarity
+        assertEquals(List.of("forge", "forgegradle"), INDEX.getSimilar("forg", 10));
+        assertEquals(List.of("fabric"), INDEX.getSimilar("fabirc", 10));
+        assertEquals(List.of("mappings"), INDEX.getSimilar("MAPPING", 10));
+    }
+
+    @Test
+    void ignoresDissimilarNames() {
+        assertTrue(INDEX.getSimilar("xyz", 10).isEmpty());
+        assertTrue(INDEX.getSimilar("", 10).stream().noneMatch("quilt"::equals));
+    }
+
+    @Test
+    void appliesChangesWithoutModifyingTheIndex() {
+        final var updated = INDEX.withChanges(List.of("forge", "unknown"), List.of("forged", "fabric"));
+        assertEquals(List.of("forged", "forgegradle", "neoforge"), updated.getSimilar("forge", 10));
+        assertEquals(List.of("fabric"), updated.getSimilar("fabric", 10));
+        assertEquals(List.of("forge", "forgegradle", "neoforge"), INDEX.getSimilar("forge", 10));
+    }
+}